@@ -0,0 +1,92 @@
+package com.ibm.marketingAI.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${generation.executor.pool-size:8}")
+    private int poolSize;
+
+    @Value("${generation.executor.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${generation.executor.max-in-flight:500}")
+    private int maxInFlight;
+
+    @Value("${security.password.hashing.pool-size:0}")
+    private int hashingPoolSize;
+
+    @Value("${security.password.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    // Runs Granite generations off the servlet threads so a slow LLM call
+    // never holds a Tomcat worker; a full queue rejects instead of piling up.
+    // With virtual threads enabled every generation gets its own cheap thread
+    // and only the in-flight limit bounds concurrency.
+    @Bean(name = "generationExecutor")
+    public AsyncTaskExecutor generationExecutor() {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("generation-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxInFlight);
+            executor.setRejectTasksWhenLimitReached(true);
+            executor.setTaskTerminationTimeout(30_000);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("generation-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // BCrypt is pure CPU, so at most one hashing thread per core (by default) and
+    // a short queue: a burst of sign-ins waits here or is rejected instead of
+    // occupying every Tomcat worker. Queue depth and active threads are published
+    // by Boot's executor metrics under name=passwordHashingExecutor.
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(MeterRegistry meterRegistry) {
+        int threads = hashingPoolSize > 0 ? hashingPoolSize : Runtime.getRuntime().availableProcessors();
+        Counter rejected = Counter.builder("security.password.hashing.rejected")
+                .description("Password hashing tasks rejected because the pool and its queue were full")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(hashingQueueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new TaskRejectedException("Password hashing pool is full");
+        });
+        return executor;
+    }
+
+    // Short blocking follow-ups of a hash, such as inserting the new user, so
+    // database latency never holds a hashing thread. A virtual thread each:
+    // the connection pool already bounds how many reach the database at once.
+    @Bean(name = "accountWriteExecutor")
+    public AsyncTaskExecutor accountWriteExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("account-write-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ibm.marketingAI.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import com.ibm.marketingAI.security.GoogleKeySource;
+import com.ibm.marketingAI.security.GoogleTokenVerifier;
+import com.ibm.marketingAI.security.JwksGoogleKeySource;
+
+@Configuration
+public class GoogleAuthConfig {
+
+    @Value("${google.client.id}")
+    private String clientId;
+
+    @Value("${google.auth.jwks-url:https://www.googleapis.com/oauth2/v3/certs}")
+    private String jwksUrl;
+
+    @Value("${google.auth.keys.max-ttl-ms:21600000}")
+    private long keysMaxTtlMs;
+
+    @Value("${google.auth.keys.refresh-ahead-ms:300000}")
+    private long keysRefreshAheadMs;
+
+    @Value("${google.auth.keys.min-refresh-interval-ms:60000}")
+    private long keysMinRefreshIntervalMs;
+
+    @Value("${google.auth.acceptable-skew-seconds:300}")
+    private long acceptableSkewSeconds;
+
+    // one transport for the app's lifetime; it owns the connections to Google
+    @Bean(destroyMethod = "shutdown")
+    public HttpTransport googleHttpTransport() {
+        return new NetHttpTransport();
+    }
+
+    @Bean
+    public JsonFactory googleJsonFactory() {
+        return GsonFactory.getDefaultInstance();
+    }
+
+    @Bean
+    public GoogleKeySource googleKeySource(HttpTransport googleHttpTransport, JsonFactory googleJsonFactory) {
+        return new JwksGoogleKeySource(googleHttpTransport, googleJsonFactory, jwksUrl,
+                keysMaxTtlMs, keysRefreshAheadMs, keysMinRefreshIntervalMs);
+    }
+
+    @Bean
+    public GoogleTokenVerifier googleTokenVerifier(GoogleKeySource googleKeySource, JsonFactory googleJsonFactory) {
+        return new GoogleTokenVerifier(googleKeySource, googleJsonFactory, List.of(clientId), acceptableSkewSeconds);
+    }
+}
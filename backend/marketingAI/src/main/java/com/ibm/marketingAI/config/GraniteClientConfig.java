@@ -0,0 +1,109 @@
+package com.ibm.marketingAI.config;
+
+import java.util.function.ToIntFunction;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Dedicated HTTP client for the Node granite-api-service. Generations are
+ * slow, so the pool is bounded and every phase has a timeout: a stalled
+ * upstream fails the call instead of holding the caller's thread forever.
+ */
+@Configuration
+public class GraniteClientConfig {
+
+    @Value("${granite.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${granite.http.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${granite.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${granite.http.read-timeout-ms:120000}")
+    private long readTimeoutMs;
+
+    @Value("${granite.http.pool-acquire-timeout-ms:10000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${granite.http.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager graniteConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient graniteHttpClient(
+            @Qualifier("graniteConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate graniteRestTemplate(RestTemplateBuilder builder,
+            @Qualifier("graniteHttpClient") CloseableHttpClient httpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    // pending > 0 means callers are queued waiting for a connection lease
+    @Bean
+    public MeterBinder graniteConnectionPoolMetrics(
+            @Qualifier("graniteConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return registry -> {
+            gauge(registry, "leased", connectionManager, PoolStats::getLeased);
+            gauge(registry, "pending", connectionManager, PoolStats::getPending);
+            gauge(registry, "available", connectionManager, PoolStats::getAvailable);
+            gauge(registry, "max", connectionManager, PoolStats::getMax);
+        };
+    }
+
+    private static void gauge(MeterRegistry registry, String state,
+            PoolingHttpClientConnectionManager connectionManager, ToIntFunction<PoolStats> value) {
+        Gauge.builder("granite.http.pool.connections", connectionManager,
+                        cm -> value.applyAsInt(cm.getTotalStats()))
+                .tag("state", state)
+                .description("Granite HTTP client connection pool")
+                .register(registry);
+    }
+}
@@ -0,0 +1,113 @@
+package com.ibm.marketingAI.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker and bulkhead for calls to the Node granite-api-service.
+ * The bulkhead caps how many threads can be inside a Granite call at once and
+ * rejects the rest after a short wait, so a slow upstream cannot take every
+ * servlet thread with it. Only synchronous requests get that short wait: jobs
+ * already accepted onto the generation executor queue for a slot instead, up
+ * to {@code granite.bulkhead.queue-timeout-ms}, so the executor's in-flight
+ * limit, not the bulkhead, decides what is rejected up front while a stalled
+ * upstream still sheds the backlog eventually. The breaker opens on too many failures or too many
+ * slow calls and fails generations immediately until a trial call succeeds.
+ */
+@Configuration
+@Slf4j
+public class GraniteResilienceConfig {
+
+    public static final String GRANITE = "granite";
+
+    @Value("${granite.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${granite.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${granite.circuit-breaker.slow-call-duration-ms:60000}")
+    private long slowCallDurationMs;
+
+    @Value("${granite.circuit-breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${granite.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${granite.circuit-breaker.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    @Value("${granite.circuit-breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    @Value("${granite.bulkhead.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Value("${granite.bulkhead.max-wait-ms:500}")
+    private long maxWaitMs;
+
+    @Bean
+    public CircuitBreakerRegistry graniteCircuitBreakerRegistry() {
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .waitDurationInOpenState(Duration.ofMillis(openDurationMs))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // a request Node rejected as invalid says nothing about the upstream's health
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+    }
+
+    @Bean
+    public CircuitBreaker graniteCircuitBreaker(CircuitBreakerRegistry graniteCircuitBreakerRegistry) {
+        CircuitBreaker circuitBreaker = graniteCircuitBreakerRegistry.circuitBreaker(GRANITE);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Granite circuit breaker {}", event.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    @Bean
+    public BulkheadRegistry graniteBulkheadRegistry() {
+        return BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitMs))
+                .build());
+    }
+
+    @Bean
+    public Bulkhead graniteBulkhead(BulkheadRegistry graniteBulkheadRegistry) {
+        return graniteBulkheadRegistry.bulkhead(GRANITE);
+    }
+
+    // resilience4j_circuitbreaker_state{name="granite"}, _calls, _slow_calls, ... and
+    // resilience4j_bulkhead_available_concurrent_calls{name="granite"}
+    @Bean
+    public MeterBinder graniteResilienceMetrics(CircuitBreakerRegistry graniteCircuitBreakerRegistry,
+                                                BulkheadRegistry graniteBulkheadRegistry) {
+        return registry -> {
+            TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(graniteCircuitBreakerRegistry).bindTo(registry);
+            TaggedBulkheadMetrics.ofBulkheadRegistry(graniteBulkheadRegistry).bindTo(registry);
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.ibm.marketingAI.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Entity ids used to come from IDENTITY columns and now come from pooled
+ * sequences. On an existing PostgreSQL database the new sequences start at 1,
+ * so before anything is inserted each one is moved past the highest id already
+ * in its table. A no-op on fresh databases and on anything but PostgreSQL.
+ * A sequence or table that does not exist yet (ddl-auto validate or none
+ * before the migration has run) is skipped with a warning rather than failing
+ * startup.
+ */
+@Configuration
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class SequenceAlignmentConfig {
+
+    // sequence, table, id column
+    private static final String[][] SEQUENCES = {
+        {"app_user_seq", "app_user", "id"},
+        {"version_seq", "version", "v_id"},
+        {"campaign_response_seq", "campaign_response", "id"},
+        {"tweet_metric_snapshot_seq", "tweet_metric_snapshot", "id"},
+    };
+
+    private final DataSource dataSource;
+
+    public SequenceAlignmentConfig(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void alignSequences() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+        }
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        for (String[] sequence : SEQUENCES) {
+            if (!exists(jdbc, "sequences", "sequence", sequence[0]) || !exists(jdbc, "tables", "table", sequence[1])) {
+                log.warn("Not aligning {}: it or table {} does not exist yet", sequence[0], sequence[1]);
+                continue;
+            }
+            try {
+                // setval(max) makes the next pooled block start at max + 1
+                Long aligned = jdbc.query(
+                    "SELECT setval('" + sequence[0] + "', t.max_id) FROM (SELECT MAX(" + sequence[2] + ") AS max_id FROM "
+                        + sequence[1] + ") t WHERE t.max_id >= (SELECT last_value FROM " + sequence[0] + ")",
+                    rs -> rs.next() ? rs.getLong(1) : null);
+                if (aligned != null) {
+                    log.info("Moved {} past existing ids (now {})", sequence[0], aligned);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not align {} with {}: {}", sequence[0], sequence[1], e.getMessage());
+            }
+        }
+    }
+
+    // view is information_schema.sequences or .tables, kind its column prefix
+    private static boolean exists(JdbcTemplate jdbc, String view, String kind, String name) {
+        Boolean exists = jdbc.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM information_schema." + view + " WHERE " + kind + "_schema = current_schema() AND "
+                + kind + "_name = ?)",
+            Boolean.class, name);
+        return Boolean.TRUE.equals(exists);
+    }
+}
@@ -1,10 +1,16 @@
 package com.ibm.marketingAI.controller;
 
-import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,17 +22,18 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.security.core.Authentication;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.jackson2.JacksonFactory;
 import com.ibm.marketingAI.dto.AuthResponse;
+import com.ibm.marketingAI.dto.CachedUser;
 import com.ibm.marketingAI.dto.LoginReq;
 import com.ibm.marketingAI.dto.RegisterReq;
 import com.ibm.marketingAI.model.AppUser;
 import com.ibm.marketingAI.repo.UserRepository;
+import com.ibm.marketingAI.security.GoogleTokenVerifier;
 import com.ibm.marketingAI.security.JwtUtil;
 import com.ibm.marketingAI.service.AuthService;
+import com.ibm.marketingAI.service.UserCache;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -34,6 +41,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @RestController
 @RequestMapping("api/auth")
 @Slf4j
+@Timed(value = "api.requests", histogram = true)
 public class AuthController {
 
     @Autowired
@@ -45,93 +53,143 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCache userCache;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private GoogleTokenVerifier googleTokenVerifier;
 
-    private final String CLIENT_ID = "1087092754597-05j77ogikqgqtv82aak8dsiukgiga8pv.apps.googleusercontent.com";
-
-    @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginReq req) {
-        log.info("inside login auth controller");
-        try {
-        Authentication auth = authManager.authenticate(
-            new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword())
-        );
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private AsyncTaskExecutor passwordHashingExecutor;
 
-        log.info("got auth name " + auth.getName());
+    @Autowired
+    @Qualifier("accountWriteExecutor")
+    private AsyncTaskExecutor accountWriteExecutor;
 
-        String token = jwtUtil.generateToken(auth.getName());
-        Optional<AppUser> existingUser = userRepository.findByEmail(req.getEmail());
-        if (!existingUser.isPresent()) {
-            return ResponseEntity
-                    .status(HttpStatus.CONFLICT)
-                    .body("User not registered");
+    // login and register return futures: BCrypt runs on the bounded hashing pool and
+    // the servlet thread goes back to Tomcat while it works
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginReq req) {
+        return onHashingPool(() -> {
+            log.info("inside login auth controller");
+            try {
+            Authentication auth = authManager.authenticate(
+                new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword())
+            );
+
+            log.info("got auth name " + auth.getName());
+
+            // loaded into the cache by the authentication above, so no second query
+            Optional<CachedUser> existingUser = userCache.find(req.getEmail());
+            if (!existingUser.isPresent()) {
+                return ResponseEntity
+                        .status(HttpStatus.CONFLICT)
+                        .body("User not registered");
+            }
+            CachedUser user = existingUser.get();
+
+            String token = jwtUtil.generateToken(auth.getName(), user.getId());
+            log.info("got token " + token);
+            return ResponseEntity.ok(authService.createAuthReponse(req.getEmail(),user.getFirstName(),token));
+        } catch (Exception e) {
+            log.error("Authentication failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid email or password");
         }
-        AppUser user = existingUser.get();
-
-        log.info("got token " + token);
-        return ResponseEntity.ok(authService.createAuthReponse(req.getEmail(),user.getFirstName(),token));
-    } catch (Exception e) {
-        log.error("Authentication failed: {}", e.getMessage());
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid email or password");
-    }
+        });
     }
 
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterReq request) {
-        Optional<AppUser> existingUser = userRepository.findByEmail(request.getEmail());
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody RegisterReq request) {
+        Optional<CachedUser> existingUser = userCache.find(request.getEmail());
 
         if (existingUser.isPresent()) {
-            return ResponseEntity
+            return CompletableFuture.completedFuture(ResponseEntity
                     .status(HttpStatus.CONFLICT)
-                    .body("User with this email already exists");
+                    .body("User with this email already exists"));
+        }
+
+        CompletableFuture<String> hashed;
+        try {
+            hashed = CompletableFuture.supplyAsync(() -> passwordEncoder.encode(request.getPassword()),
+                    passwordHashingExecutor);
+        } catch (TaskRejectedException e) {
+            return hashingPoolFull();
         }
+        // only BCrypt runs on the hashing pool; the insert waits for the database elsewhere
+        return hashed.thenApplyAsync(passwordHash -> {
+            AppUser newUser = new AppUser();
+            newUser.setEmail(request.getEmail());
+            newUser.setPassword(passwordHash);
+            newUser.setRole("USER"); // default role
+            newUser.setFirstName(request.getFirstName());
+            newUser.setLastName(request.getLastName());
+
+
+            try {
+                userRepository.save(newUser);
+            } catch (DataIntegrityViolationException e) {
+                // lost a race with a concurrent registration; the unique email index caught it
+                return ResponseEntity
+                        .status(HttpStatus.CONFLICT)
+                        .body("User with this email already exists");
+            } finally {
+                userCache.invalidate(request.getEmail());
+            }
+            return ResponseEntity.ok("User registered");
+        }, accountWriteExecutor);
+    }
 
-        AppUser newUser = new AppUser();
-        newUser.setEmail(request.getEmail());
-        newUser.setPassword(passwordEncoder.encode(request.getPassword()));
-        newUser.setRole("USER"); // default role
-        newUser.setFirstName(request.getFirstName());
-        newUser.setLastName(request.getLastName());
-        
+    private CompletableFuture<ResponseEntity<?>> onHashingPool(Supplier<ResponseEntity<?>> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, passwordHashingExecutor);
+        } catch (TaskRejectedException e) {
+            return hashingPoolFull();
+        }
+    }
 
-        userRepository.save(newUser);
-        return ResponseEntity.ok("User registered");
+    private CompletableFuture<ResponseEntity<?>> hashingPoolFull() {
+        log.warn("Password hashing pool is full, shedding request");
+        return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Too many sign-ins in progress, try again shortly"));
     }
 
-    @SuppressWarnings("deprecation")
     @PostMapping("/google")
     public ResponseEntity<?> authenticate(@RequestBody Map<String, String> body) throws Exception {
         String idTokenString = body.get("token");
         log.info(idTokenString);
-        GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(new NetHttpTransport(), JacksonFactory.getDefaultInstance())
-                .setAudience(Collections.singletonList(CLIENT_ID))
-                .build();
-
-        GoogleIdToken idToken = verifier.verify(idTokenString);
+        GoogleIdToken.Payload payload = googleTokenVerifier.verify(idTokenString);
         log.info("going to idToken ");
-        System.out.println(idToken);
-        if (idToken != null) {
-            GoogleIdToken.Payload payload = idToken.getPayload();
+        if (payload != null) {
             String email = payload.getEmail();
             String name = (String) payload.get("name");
             
             // Optionally save user to DB
-            AppUser user = userRepository.findByEmail(email).orElseGet(() -> {
+            CachedUser user = userCache.find(email).orElseGet(() -> {
                 // If not found, create new user
                 AppUser newUser = new AppUser();
                 newUser.setEmail(email);
                 newUser.setFirstName(name);
                 log.debug("going to save to userRepo by google");
-                return userRepository.save(newUser);
+                try {
+                    AppUser saved = userRepository.save(newUser);
+                    userCache.invalidate(email);
+                    return CachedUser.of(saved);
+                } catch (DataIntegrityViolationException e) {
+                    // a concurrent first login created the user; the unique email index caught it
+                    return userCache.find(email).orElseThrow(() -> e);
+                }
             });
 
             // Generate JWT
-            String accessToken = jwtUtil.generateToken(email);
+            String accessToken = jwtUtil.generateToken(email, user.getId());
             AuthResponse authResponse = new AuthResponse(user.getEmail(),user.getFirstName(),accessToken);
             return ResponseEntity.ok(authResponse);
         } else {
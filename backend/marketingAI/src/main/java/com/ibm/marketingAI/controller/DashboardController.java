@@ -1,22 +1,43 @@
 package com.ibm.marketingAI.controller;
 
 
+import java.security.Principal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ibm.marketingAI.dto.BulkCampaignRequest;
+import com.ibm.marketingAI.dto.BulkJobDto;
 import com.ibm.marketingAI.dto.CampaignRequest;
+import com.ibm.marketingAI.dto.GenerationJobDto;
 import com.ibm.marketingAI.dto.TwitterAnalyticsDTO;
 import com.ibm.marketingAI.dto.TwitterPostDTO;
+import com.ibm.marketingAI.model.CampaignResponse;
 import com.ibm.marketingAI.repo.VersionRepo;
-import com.ibm.marketingAI.security.JwtUtil;
+import com.ibm.marketingAI.security.JwtAuthFilter;
+import com.ibm.marketingAI.security.VerifiedToken;
+import com.ibm.marketingAI.service.AbSummaryService;
+import com.ibm.marketingAI.service.BulkGenerationJob;
+import com.ibm.marketingAI.service.BulkGenerationService;
 import com.ibm.marketingAI.service.CampaignService;
+import com.ibm.marketingAI.service.GenerationJob;
+import com.ibm.marketingAI.service.GenerationJobService;
+import com.ibm.marketingAI.service.GenerationTrace;
+import com.ibm.marketingAI.service.GraniteUnavailableException;
+import com.ibm.marketingAI.service.TwitterRateLimitedException;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,55 +46,184 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 
 
 @RestController
 @RequestMapping("/api/dashboard")
 @Slf4j
+@Timed(value = "api.requests", histogram = true)
 public class DashboardController {
 
     @Autowired
     private CampaignService campaignService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private VersionRepo versionRepo;
 
     @Autowired
-    private VersionRepo versionRepo;
+    private GenerationJobService generationJobService;
+
+    @Autowired
+    private AbSummaryService abSummaryService;
+
+    @Autowired
+    private BulkGenerationService bulkGenerationService;
 
     
     @PostMapping("/post")
-    public ResponseEntity<?> generateCampaign(HttpServletRequest headerRequest,@RequestBody CampaignRequest request) {
-        String authHeader = headerRequest.getHeader("Authorization");
+    public ResponseEntity<?> generateCampaign(HttpServletRequest headerRequest,@RequestBody CampaignRequest request,
+                                              @RequestParam(defaultValue = "false") boolean fresh) {
+        String email = extractEmail(headerRequest); // ✅ verified once by JwtAuthFilter
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        }
+        log.info("is valid? "+email);
+        // continues the caller's traceparent if sent; the breakdown goes back in Server-Timing and to the log
+        try (GenerationTrace trace = GenerationTrace.start("generation", headerRequest.getHeader(GenerationTrace.TRACEPARENT_HEADER))) {
+            CampaignResponse saved = campaignService.generateCampaign(request, email, extractUserId(headerRequest), fresh);
+            return ResponseEntity.ok()
+                    .header(GenerationTrace.TRACE_ID_HEADER, trace.getTraceId())
+                    .header(GenerationTrace.SERVER_TIMING_HEADER, trace.serverTiming())
+                    .body(saved);
+        } catch (GraniteUnavailableException e) {
+            log.warn("Shedding generation for {}: {}", email, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(TimeUnit.MILLISECONDS.toSeconds(e.getRetryAfterMs()) + 1))
+                    .body(e.getMessage());
+        }
+    }
 
-    if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+    @PostMapping("/post/async")
+    public ResponseEntity<?> generateCampaignAsync(HttpServletRequest headerRequest, @RequestBody CampaignRequest request,
+                                                   @RequestParam(defaultValue = "false") boolean fresh) {
+        String email = extractEmail(headerRequest);
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        }
+
+        try {
+            GenerationJob job = generationJobService.submit(request, email, extractUserId(headerRequest), fresh);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(generationJobService.toDto(job));
+        } catch (TaskRejectedException e) {
+            log.warn("Generation queue is full, rejecting job for {}", email);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Generation queue is full, try again shortly");
+        }
     }
-    
-    String token = authHeader.substring(7);
-    String email = jwtUtil.extractUserId(token); // ✅ Extract user email from token
-    if(email==null){
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
+
+    // same as /post, but Granite's text is streamed to the browser as it is generated
+    @PostMapping(value = "/post/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> generateCampaignStreaming(HttpServletRequest headerRequest, @RequestBody CampaignRequest request,
+                                                       @RequestParam(defaultValue = "false") boolean fresh) {
+        String email = extractEmail(headerRequest);
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        }
+
+        try {
+            return ResponseEntity.ok(generationJobService.streamGeneration(request, email, extractUserId(headerRequest), fresh));
+        } catch (TaskRejectedException e) {
+            log.warn("Generation queue is full, rejecting streaming generation for {}", email);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Generation queue is full, try again shortly");
+        }
+    }
+
+    @PostMapping("/post/bulk")
+    public ResponseEntity<?> generateCampaignsInBulk(HttpServletRequest headerRequest, @RequestBody BulkCampaignRequest request,
+                                                     @RequestParam(defaultValue = "false") boolean fresh) {
+        String email = extractEmail(headerRequest);
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        }
+
+        try {
+            BulkGenerationJob job = bulkGenerationService.submit(request, email, extractUserId(headerRequest), fresh);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkGenerationService.toDto(job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (TaskRejectedException e) {
+            log.warn("Generation queue is full, rejecting bulk job for {}", email);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Generation queue is full, try again shortly");
+        }
+    }
+
+    @GetMapping("/bulk/{jobId}")
+    public ResponseEntity<BulkJobDto> getBulkJob(HttpServletRequest headerRequest, @PathVariable String jobId) {
+        return bulkGenerationService.find(jobId, extractEmail(headerRequest))
+                .map(job -> ResponseEntity.ok(bulkGenerationService.toDto(job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<GenerationJobDto> getJob(HttpServletRequest headerRequest, @PathVariable String jobId) {
+        return generationJobService.find(jobId, extractEmail(headerRequest))
+                .map(job -> ResponseEntity.ok(generationJobService.toDto(job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
-    log.info("is valid? "+email);
-    return ResponseEntity.ok(campaignService.generateCampaign(request,email));
+
+    @GetMapping(value = "/jobs/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJob(HttpServletRequest headerRequest, @PathVariable String jobId) {
+        return generationJobService.find(jobId, extractEmail(headerRequest))
+                .map(job -> ResponseEntity.ok(generationJobService.stream(job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
 
     @GetMapping("/get")
     public ResponseEntity<?> getCampaign(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-        log.info("TOKEN "+authHeader);
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        String email = extractEmail(request);
+        if (email == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
         }
-
-        String token = authHeader.substring(7);
-        String email = jwtUtil.extractUserId(token); 
         log.info("email "+email);
         return ResponseEntity.ok(campaignService.getAllCampaignForUser(email));
     }
 
+    @GetMapping("/campaigns")
+    public ResponseEntity<?> getCampaignPage(HttpServletRequest request,
+                                             @RequestParam(required = false) Long cursor,
+                                             @RequestParam(defaultValue = "20") int limit,
+                                             @RequestParam(defaultValue = "summary") String view) {
+        String email = extractEmail(request);
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        }
+        return ResponseEntity.ok(campaignService.getCampaignPage(email, cursor, limit, "full".equalsIgnoreCase(view)));
+    }
+
+    @GetMapping("/campaigns/{campaignId}")
+    public ResponseEntity<?> getCampaignById(HttpServletRequest request, @PathVariable Long campaignId) {
+        String email = extractEmail(request);
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        }
+        return campaignService.getCampaignForUser(email, campaignId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Collections.singletonMap("message", "No campaign found with id: " + campaignId)));
+    }
+
+    @GetMapping("/campaigns/{campaignId}/ab")
+    public ResponseEntity<?> getAbSummary(HttpServletRequest request, @PathVariable Long campaignId) {
+        String email = extractEmail(request);
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        }
+        return abSummaryService.getForUser(email, campaignId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Collections.singletonMap("message", "No A/B summary for campaign: " + campaignId)));
+    }
+
+    @GetMapping("/ab")
+    public ResponseEntity<?> listAbSummaries(HttpServletRequest request) {
+        String email = extractEmail(request);
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        }
+        return ResponseEntity.ok(abSummaryService.listForUser(email));
+    }
+
     @PostMapping("twitter/save")
     public ResponseEntity<String> savePost(@RequestBody TwitterPostDTO dto) {
         campaignService.saveTwitterPost(dto);
@@ -101,8 +251,53 @@ public class DashboardController {
     
 
      @GetMapping("/analytics/{tweetId}")
-    public TwitterAnalyticsDTO getAnalytics(@PathVariable String tweetId) {
-        return campaignService.fetchTweetAnalytics(tweetId);
+    public ResponseEntity<?> getAnalytics(@PathVariable String tweetId) {
+        try {
+            TwitterAnalyticsDTO analytics = campaignService.fetchTweetAnalytics(tweetId);
+            if (analytics == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            return ResponseEntity.ok(analytics);
+        } catch (TwitterRateLimitedException e) {
+            log.warn("Twitter quota exhausted, shedding analytics request for {}", tweetId);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(TimeUnit.MILLISECONDS.toSeconds(e.getRetryAfterMs()) + 1))
+                    .body("Twitter API limit reached, try again later");
+        }
+    }
+
+    // engagement history from our own snapshots; defaults to the last 7 days in hourly buckets
+    @GetMapping("/metrics/{vid}")
+    public ResponseEntity<?> getMetricSeries(HttpServletRequest request, @PathVariable Long vid,
+                                             @RequestParam(defaultValue = "hour") String bucket,
+                                             @RequestParam(required = false) Instant from,
+                                             @RequestParam(required = false) Instant to) {
+        String email = extractEmail(request);
+        if (email == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Missing or invalid token");
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(7, ChronoUnit.DAYS);
+        try {
+            return campaignService.getMetricSeries(email, vid, bucket, start, end)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(Collections.singletonMap("message", "No version found with id: " + vid)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // the token was already verified by JwtAuthFilter; reuse its principal instead of parsing again
+    private String extractEmail(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal == null ? null : principal.getName();
+    }
+
+    // null for tokens issued before they carried the user id; callers then resolve it by email
+    private Long extractUserId(HttpServletRequest request) {
+        Object token = request.getAttribute(JwtAuthFilter.CLAIMS_ATTRIBUTE);
+        return token instanceof VerifiedToken verified ? verified.userId() : null;
     }
 
     
@@ -0,0 +1,28 @@
+package com.ibm.marketingAI.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Either an explicit list of requests, or a base request plus the dimensions to vary:
+// every combination of tones x ageBands x audienceTypes is generated (a missing dimension keeps base's value).
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCampaignRequest {
+    private List<CampaignRequest> requests;
+    private CampaignRequest base;
+    private List<String> tones;
+    private List<AgeBand> ageBands;
+    private List<String> audienceTypes;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class AgeBand {
+        private int minAge;
+        private int maxAge;
+    }
+}
@@ -0,0 +1,34 @@
+package com.ibm.marketingAI.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkJobDto {
+    private String jobId;
+    private String status;
+    private int total;
+    private int completed;
+    private int failed;
+    private Instant submittedAt;
+    private Instant completedAt;
+    private List<Item> items;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private int index;
+        private String status;
+        private CampaignRequest request;
+        // id of the saved campaign once the item is COMPLETED
+        private Long campaignId;
+        private String error;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ibm.marketingAI.dto;
+
+import com.ibm.marketingAI.model.AppUser;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.ToString;
+
+// Immutable copy of the AppUser columns the request path needs; never a managed entity.
+@Data
+@AllArgsConstructor
+public class CachedUser {
+
+    private final Long id;
+    private final String email;
+    @ToString.Exclude
+    private final String password;
+    private final String role;
+    private final String firstName;
+    private final String lastName;
+
+    public static CachedUser of(AppUser user) {
+        return new CachedUser(user.getId(), user.getEmail(), user.getPassword(), user.getRole(),
+                user.getFirstName(), user.getLastName());
+    }
+}
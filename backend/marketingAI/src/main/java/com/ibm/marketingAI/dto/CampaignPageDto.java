@@ -0,0 +1,16 @@
+package com.ibm.marketingAI.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CampaignPageDto {
+    private List<CampaignResponseDto> items;
+    // pass back as ?cursor= to get the next (older) page; null on the last page
+    private Long nextCursor;
+}
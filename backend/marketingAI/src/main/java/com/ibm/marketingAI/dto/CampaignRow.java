@@ -0,0 +1,35 @@
+package com.ibm.marketingAI.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Flat projection of a campaign and both of its versions, read in a single
+ * query for history listings. Summary rows leave the content columns out of
+ * the select entirely and carry null bodies.
+ */
+@Data
+@AllArgsConstructor
+public class CampaignRow {
+    private Long id;
+    private String tone;
+    private String brandName;
+    private String audienceCategory;
+    private String audienceType;
+    private String productName;
+    private int minAge;
+    private int maxAge;
+    private Long versionAId;
+    private String versionATitle;
+    private String versionAContent;
+    private Long versionBId;
+    private String versionBTitle;
+    private String versionBContent;
+
+    public CampaignRow(Long id, String tone, String brandName, String audienceCategory, String audienceType,
+                       String productName, int minAge, int maxAge,
+                       Long versionAId, String versionATitle, Long versionBId, String versionBTitle) {
+        this(id, tone, brandName, audienceCategory, audienceType, productName, minAge, maxAge,
+             versionAId, versionATitle, null, versionBId, versionBTitle, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ibm.marketingAI.dto;
+
+import java.time.Instant;
+
+import com.ibm.marketingAI.model.CampaignResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GenerationJobDto {
+    private String jobId;
+    private String status;
+    private Instant submittedAt;
+    private Instant completedAt;
+    private CampaignResponse result;
+    private String error;
+}
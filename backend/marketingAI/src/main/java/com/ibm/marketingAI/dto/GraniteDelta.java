@@ -0,0 +1,14 @@
+package com.ibm.marketingAI.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// a chunk of generated text as it arrives; variation is "A" or "B"
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GraniteDelta {
+    private String variation;
+    private String text;
+}
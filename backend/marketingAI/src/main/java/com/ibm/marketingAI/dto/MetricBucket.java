@@ -0,0 +1,13 @@
+package com.ibm.marketingAI.dto;
+
+import java.time.OffsetDateTime;
+
+// one hour or day of a version's engagement; counters are cumulative, so each is the latest value in the bucket
+public interface MetricBucket {
+    OffsetDateTime getBucket();
+    int getLikes();
+    int getRetweets();
+    int getReplies();
+    int getQuotes();
+    int getImpressions();
+}
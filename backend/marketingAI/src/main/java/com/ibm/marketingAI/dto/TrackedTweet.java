@@ -0,0 +1,13 @@
+package com.ibm.marketingAI.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrackedTweet {
+    private Long versionId;
+    private String twitterId;
+}
@@ -1,5 +1,9 @@
 package com.ibm.marketingAI.dto;
 
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Data;
 
 @Data
@@ -8,6 +12,12 @@ public class TwitterAnalyticsDTO {
     private String text;
     private PublicMetrics public_metrics;
 
+    // set by TweetAnalyticsCache, not by Twitter: when these metrics were fetched,
+    // and when they stopped being fresh if a background refresh has not landed yet
+    private Instant fetchedAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant staleSince;
+
     @Data
     public static class PublicMetrics {
         private int retweet_count;
@@ -0,0 +1,11 @@
+package com.ibm.marketingAI.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+// response of the multi-ID lookup (GET /2/tweets?ids=...); unknown or deleted ids are simply absent from data
+@Data
+public class TwitterLookupDTO {
+    private List<TwitterAnalyticsDTO> data;
+}
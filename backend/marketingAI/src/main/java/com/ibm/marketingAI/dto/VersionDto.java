@@ -2,11 +2,14 @@ package com.ibm.marketingAI.dto;
 
 
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 @Data
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class VersionDto {
 
     private Long v_id;
@@ -0,0 +1,84 @@
+package com.ibm.marketingAI.model;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Precomputed A/B comparison for one campaign, kept up to date by AbSummaryService
+// as metrics arrive so dashboards never recompute it on read.
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "ab_summary", indexes = {
+        @Index(name = "idx_ab_summary_owner", columnList = "owner_id"),
+        @Index(name = "idx_ab_summary_version_a", columnList = "version_a_id"),
+        @Index(name = "idx_ab_summary_version_b", columnList = "version_b_id")})
+public class AbSummary implements Persistable<Long> {
+
+    @Id
+    @Column(name = "campaign_id")
+    private Long campaignId;
+    @Column(name = "owner_id")
+    private Long ownerId;
+    @Column(name = "version_a_id")
+    private Long versionAId;
+    @Column(name = "version_b_id")
+    private Long versionBId;
+
+    // Granite's predicted conversion rates, used until both tweets have impressions
+    private int predictedConversionA;
+    private int predictedConversionB;
+
+    // latest tweet counters: likes + retweets + replies + quotes over impressions
+    private long engagementsA;
+    private long impressionsA;
+    private long engagementsB;
+    private long impressionsB;
+
+    // "measured" once both sides have impressions, "predicted" before that
+    private String basis;
+    // relative lift of B over A; null when A's rate is zero
+    private Double lift;
+    // two-sided confidence that the rates differ (two-proportion z-test); null on predictions
+    private Double confidence;
+    // "A", "B", or null on a tie
+    private String leader;
+    private Instant updatedAt;
+
+    // the id is assigned (the campaign's), so tell Spring Data when a row is new;
+    // otherwise save() would merge and SELECT before every insert
+    @Transient
+    @JsonIgnore
+    private boolean persisted;
+
+    @Override
+    @JsonIgnore
+    public Long getId() {
+        return campaignId;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -13,6 +13,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -24,7 +25,8 @@ import lombok.NoArgsConstructor;
 public class CampaignResponse {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "campaign_response_seq")
+    @SequenceGenerator(name = "campaign_response_seq", sequenceName = "campaign_response_seq", allocationSize = 50)
     private Long id;
     
     @OneToOne(cascade = CascadeType.ALL)
@@ -0,0 +1,40 @@
+package com.ibm.marketingAI.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row per tracked tweet per collection run; rows are only ever inserted.
+// The version is stored by id rather than as a relation to keep rows narrow.
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "tweet_metric_snapshot",
+       indexes = @Index(name = "idx_tweet_metric_snapshot_version_time", columnList = "version_id, captured_at"))
+public class TweetMetricSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tweet_metric_snapshot_seq")
+    @SequenceGenerator(name = "tweet_metric_snapshot_seq", sequenceName = "tweet_metric_snapshot_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "version_id", nullable = false)
+    private Long versionId;
+    @Column(name = "captured_at", nullable = false)
+    private Instant capturedAt;
+    private int likes;
+    private int retweets;
+    private int replies;
+    private int quotes;
+    private int impressions;
+}
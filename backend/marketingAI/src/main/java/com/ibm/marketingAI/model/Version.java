@@ -13,9 +13,12 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @Entity
@@ -24,13 +27,17 @@ import lombok.NoArgsConstructor;
 public class Version {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "version_seq")
+    @SequenceGenerator(name = "version_seq", sequenceName = "version_seq", allocationSize = 50)
     private Long v_id;
     @Column(length = 200)
     private String title;
+    // lazy (via bytecode enhancement) so id/title/metrics lookups don't drag the text column along
     @Lob
-    @Basic(fetch = FetchType.EAGER)
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "text")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String content;
     @Embedded
     private Metrics metrics;
@@ -0,0 +1,23 @@
+package com.ibm.marketingAI.repo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ibm.marketingAI.model.AbSummary;
+
+@Repository
+public interface AbSummaryRepo extends JpaRepository<AbSummary, Long> {
+
+    Optional<AbSummary> findByCampaignIdAndOwnerId(Long campaignId, Long ownerId);
+
+    List<AbSummary> findByOwnerIdOrderByCampaignIdDesc(Long ownerId);
+
+    @Query("SELECT s FROM AbSummary s WHERE s.versionAId IN :ids OR s.versionBId IN :ids")
+    List<AbSummary> findByVersionIds(@Param("ids") Collection<Long> versionIds);
+}
@@ -1,16 +1,52 @@
 package com.ibm.marketingAI.repo;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.ibm.marketingAI.dto.CampaignRow;
 import com.ibm.marketingAI.model.AppUser;
 import com.ibm.marketingAI.model.CampaignResponse;
 
 @Repository
 public interface ResponseRepo extends JpaRepository<CampaignResponse, Long>  {
 
-    List<CampaignResponse> findByOwner(AppUser user);
-    
+    // History reads are projections: versions are joined in the same select and
+    // Version.content (lazy) is only selected by the queries that return it.
+    String ROW = "c.id, c.tone, c.brandName, c.audienceCategory, c.audienceType, c.productName, c.minAge, c.maxAge, ";
+    String FROM = " FROM CampaignResponse c JOIN c.versionA a JOIN c.versionB b ";
+
+    @Query("SELECT new com.ibm.marketingAI.dto.CampaignRow(" + ROW + "a.v_id, a.title, a.content, b.v_id, b.title, b.content)"
+         + FROM + "WHERE c.owner = :owner ORDER BY c.id")
+    List<CampaignRow> findRows(@Param("owner") AppUser owner);
+
+    // keyset pages, newest first: pass the last id of the previous page as the cursor
+    @Query("SELECT new com.ibm.marketingAI.dto.CampaignRow(" + ROW + "a.v_id, a.title, a.content, b.v_id, b.title, b.content)"
+         + FROM + "WHERE c.owner = :owner AND c.id < :cursor ORDER BY c.id DESC")
+    List<CampaignRow> findRows(@Param("owner") AppUser owner, @Param("cursor") Long cursor, Pageable page);
+
+    @Query("SELECT new com.ibm.marketingAI.dto.CampaignRow(" + ROW + "a.v_id, a.title, b.v_id, b.title)"
+         + FROM + "WHERE c.owner = :owner AND c.id < :cursor ORDER BY c.id DESC")
+    List<CampaignRow> findSummaries(@Param("owner") AppUser owner, @Param("cursor") Long cursor, Pageable page);
+
+    @Query("SELECT new com.ibm.marketingAI.dto.CampaignRow(" + ROW + "a.v_id, a.title, a.content, b.v_id, b.title, b.content)"
+         + FROM + "WHERE c.owner = :owner AND c.id = :id")
+    Optional<CampaignRow> findRow(@Param("owner") AppUser owner, @Param("id") Long id);
+
+    // checked against the version foreign keys, so no version row is read
+    @Query("SELECT COUNT(c) > 0 FROM CampaignResponse c WHERE c.owner = :owner"
+         + " AND (c.versionA.v_id = :versionId OR c.versionB.v_id = :versionId)")
+    boolean ownsVersion(@Param("owner") AppUser owner, @Param("versionId") Long versionId);
+
+    // campaigns created before A/B summaries existed, in keyset chunks after the cursor; used to backfill them
+    @Query("SELECT c FROM CampaignResponse c JOIN FETCH c.versionA JOIN FETCH c.versionB"
+         + " WHERE c.id > :cursor AND NOT EXISTS (SELECT 1 FROM AbSummary s WHERE s.campaignId = c.id)"
+         + " ORDER BY c.id")
+    List<CampaignResponse> findWithoutAbSummary(@Param("cursor") Long cursor, Pageable page);
+
 }
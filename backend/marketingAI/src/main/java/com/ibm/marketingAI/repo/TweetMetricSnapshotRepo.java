@@ -0,0 +1,30 @@
+package com.ibm.marketingAI.repo;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ibm.marketingAI.dto.MetricBucket;
+import com.ibm.marketingAI.model.TweetMetricSnapshot;
+
+@Repository
+public interface TweetMetricSnapshotRepo extends JpaRepository<TweetMetricSnapshot, Long> {
+
+    // Aggregated in the database over the (version_id, captured_at) index. The unit is
+    // a literal per query so SELECT and GROUP BY share one expression.
+    String BUCKET_COLUMNS = " AS bucket, MAX(s.likes) AS likes, MAX(s.retweets) AS retweets, MAX(s.replies) AS replies, "
+                          + "MAX(s.quotes) AS quotes, MAX(s.impressions) AS impressions FROM tweet_metric_snapshot s "
+                          + "WHERE s.version_id = :versionId AND s.captured_at >= :from AND s.captured_at < :to GROUP BY ";
+
+    @Query(value = "SELECT date_trunc('hour', s.captured_at)" + BUCKET_COLUMNS
+                 + "date_trunc('hour', s.captured_at) ORDER BY bucket", nativeQuery = true)
+    List<MetricBucket> findHourly(@Param("versionId") Long versionId, @Param("from") Instant from, @Param("to") Instant to);
+
+    @Query(value = "SELECT date_trunc('day', s.captured_at)" + BUCKET_COLUMNS
+                 + "date_trunc('day', s.captured_at) ORDER BY bucket", nativeQuery = true)
+    List<MetricBucket> findDaily(@Param("versionId") Long versionId, @Param("from") Instant from, @Param("to") Instant to);
+}
@@ -1,10 +1,12 @@
 package com.ibm.marketingAI.repo;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.ibm.marketingAI.dto.TrackedTweet;
 import com.ibm.marketingAI.model.Version;
 import java.util.List;
 
@@ -13,7 +15,14 @@ import java.util.List;
 public interface VersionRepo extends JpaRepository<Version, Long>  {
     @Query("SELECT v.v_id FROM Version v WHERE v.twitter_id = :twitterId")
     Long findIdByTwitterId(@Param("twitterId") String twitterId);
+    @Query("SELECT COUNT(v) > 0 FROM Version v WHERE v.twitter_id = :twitterId")
+    boolean isTracked(@Param("twitterId") String twitterId);
     @Query("SELECT v.twitter_id FROM Version v WHERE v.v_id = :vid")
     String getTwitterId(@Param("vid") Long vid);
+    @Modifying
+    @Query("UPDATE Version v SET v.twitter_id = :twitterId, v.twitter_link = :twitterLink WHERE v.v_id = :vid")
+    int updateTwitterPost(@Param("vid") Long vid, @Param("twitterId") String twitterId, @Param("twitterLink") String twitterLink);
+    @Query("SELECT new com.ibm.marketingAI.dto.TrackedTweet(v.v_id, v.twitter_id) FROM Version v WHERE v.twitter_id IS NOT NULL")
+    List<TrackedTweet> findTrackedTweets();
 
 }
\ No newline at end of file
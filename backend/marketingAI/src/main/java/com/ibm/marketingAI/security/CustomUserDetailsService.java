@@ -3,25 +3,31 @@ package com.ibm.marketingAI.security;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.ibm.marketingAI.model.AppUser;
+import com.ibm.marketingAI.dto.CachedUser;
 import com.ibm.marketingAI.repo.UserRepository;
+import com.ibm.marketingAI.service.UserCache;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    @Autowired
+    private UserCache userCache;
 
     @Autowired
     private UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        AppUser user = userRepository.findByEmail(email)
+        CachedUser user = userCache.find(email)
             .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         
         log.info("user is {}",user);
@@ -31,5 +37,17 @@ public class CustomUserDetailsService implements UserDetailsService {
             .roles(user.getRole()) // e.g., USER
             .build();
     }
-}
 
+    // called by the authentication provider after a successful login whose stored
+    // hash has a lower BCrypt cost than the configured one
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByEmail(user.getUsername()).ifPresent(appUser -> {
+            appUser.setPassword(newPassword);
+            log.info("Upgraded password hash for {}", user.getUsername());
+        });
+        userCache.invalidate(user.getUsername());
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.ibm.marketingAI.security;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.List;
+
+/**
+ * Supplies the public keys Google ID tokens are checked against. The default
+ * implementation reads Google's JWKS endpoint; tests can point it at a local
+ * stand-in or provide keys directly.
+ */
+public interface GoogleKeySource {
+
+    List<PublicKey> getPublicKeys() throws GeneralSecurityException, IOException;
+
+    /**
+     * Called when no current key matched a token's signature, in case Google
+     * rotated keys before our copy expired. Implementations may rate-limit it.
+     */
+    default boolean refreshAfterMiss() throws GeneralSecurityException, IOException {
+        return false;
+    }
+}
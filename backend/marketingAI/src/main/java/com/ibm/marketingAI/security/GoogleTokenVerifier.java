@@ -0,0 +1,66 @@
+package com.ibm.marketingAI.security;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.List;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.json.JsonFactory;
+
+/**
+ * Verifies Google Sign-In ID tokens against keys from a shared
+ * {@link GoogleKeySource}, so the keys are fetched once and reused across
+ * logins instead of once per request.
+ */
+public class GoogleTokenVerifier {
+
+    private static final List<String> ISSUERS = List.of("accounts.google.com", "https://accounts.google.com");
+
+    private final GoogleKeySource keySource;
+    private final JsonFactory jsonFactory;
+    private final List<String> audience;
+    private final long acceptableSkewSeconds;
+
+    public GoogleTokenVerifier(GoogleKeySource keySource, JsonFactory jsonFactory,
+                               List<String> audience, long acceptableSkewSeconds) {
+        this.keySource = keySource;
+        this.jsonFactory = jsonFactory;
+        this.audience = audience;
+        this.acceptableSkewSeconds = acceptableSkewSeconds;
+    }
+
+    /**
+     * Returns the token payload, or null when the token is malformed, expired,
+     * issued for another client or not signed by a current Google key.
+     */
+    public GoogleIdToken.Payload verify(String idTokenString) throws GeneralSecurityException, IOException {
+        GoogleIdToken idToken;
+        try {
+            idToken = GoogleIdToken.parse(jsonFactory, idTokenString);
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+
+        if (!idToken.verifyIssuer(ISSUERS)
+                || !idToken.verifyAudience(audience)
+                || !idToken.verifyTime(System.currentTimeMillis(), acceptableSkewSeconds)) {
+            return null;
+        }
+
+        if (signedByAny(idToken, keySource.getPublicKeys())
+                || (keySource.refreshAfterMiss() && signedByAny(idToken, keySource.getPublicKeys()))) {
+            return idToken.getPayload();
+        }
+        return null;
+    }
+
+    private static boolean signedByAny(GoogleIdToken idToken, List<PublicKey> keys) throws GeneralSecurityException {
+        for (PublicKey key : keys) {
+            if (idToken.verifySignature(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,180 @@
+package com.ibm.marketingAI.security;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.json.JsonFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Google signing keys read from a JWKS endpoint and kept for the response's
+ * {@code max-age} (capped at {@code maxTtlMs}). Inside the refresh-ahead window
+ * callers keep using the current keys while one background fetch replaces
+ * them, so logins only wait on the network when there are no usable keys.
+ * Refetches after a signature miss are limited to one per
+ * {@code minRefreshIntervalMs}, however many unknown-key tokens arrive at once.
+ */
+@Slf4j
+public class JwksGoogleKeySource implements GoogleKeySource {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final HttpRequestFactory requestFactory;
+    private final JsonFactory jsonFactory;
+    private final String jwksUrl;
+    private final long maxTtlMs;
+    private final long refreshAheadMs;
+    private final long minRefreshIntervalMs;
+    private final LongSupplier clock;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicBoolean backgroundRefresh = new AtomicBoolean();
+    private volatile KeySet current;
+
+    public JwksGoogleKeySource(HttpTransport transport, JsonFactory jsonFactory, String jwksUrl,
+                               long maxTtlMs, long refreshAheadMs, long minRefreshIntervalMs) {
+        this(transport, jsonFactory, jwksUrl, maxTtlMs, refreshAheadMs, minRefreshIntervalMs, System::currentTimeMillis);
+    }
+
+    JwksGoogleKeySource(HttpTransport transport, JsonFactory jsonFactory, String jwksUrl,
+                        long maxTtlMs, long refreshAheadMs, long minRefreshIntervalMs, LongSupplier clock) {
+        this.requestFactory = transport.createRequestFactory();
+        this.jsonFactory = jsonFactory;
+        this.jwksUrl = jwksUrl;
+        this.maxTtlMs = maxTtlMs;
+        this.refreshAheadMs = refreshAheadMs;
+        this.minRefreshIntervalMs = minRefreshIntervalMs;
+        this.clock = clock;
+    }
+
+    @Override
+    public List<PublicKey> getPublicKeys() throws GeneralSecurityException, IOException {
+        KeySet keys = current;
+        long now = clock.getAsLong();
+        if (keys == null || now >= keys.expiresAt()) {
+            return refresh(false).keys();
+        }
+        if (now >= keys.expiresAt() - refreshAheadMs) {
+            refreshInBackground();
+        }
+        return keys.keys();
+    }
+
+    @Override
+    public boolean refreshAfterMiss() throws GeneralSecurityException, IOException {
+        KeySet seen = current;
+        if (fetchedRecently(seen)) {
+            return false;
+        }
+        refreshLock.lock();
+        try {
+            // a caller that held the lock before us already replaced the keys: retry with those
+            KeySet keys = current;
+            if (keys != seen) {
+                return true;
+            }
+            if (fetchedRecently(keys)) {
+                return false;
+            }
+            current = fetch();
+            return true;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private boolean fetchedRecently(KeySet keys) {
+        return keys != null && clock.getAsLong() - keys.fetchedAt() < minRefreshIntervalMs;
+    }
+
+    private KeySet refresh(boolean force) throws GeneralSecurityException, IOException {
+        refreshLock.lock();
+        try {
+            KeySet keys = current;
+            // another caller may have refreshed while we waited for the lock
+            if (!force && keys != null && clock.getAsLong() < keys.expiresAt()) {
+                return keys;
+            }
+            KeySet fresh = fetch();
+            current = fresh;
+            return fresh;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshInBackground() {
+        if (!backgroundRefresh.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                refresh(true);
+            } catch (GeneralSecurityException | IOException e) {
+                log.warn("Background refresh of Google signing keys failed: {}", e.getMessage());
+            } finally {
+                backgroundRefresh.set(false);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private KeySet fetch() throws GeneralSecurityException, IOException {
+        HttpResponse response = requestFactory.buildGetRequest(new GenericUrl(jwksUrl)).execute();
+        try {
+            long ttlMs = ttlMs(response.getHeaders().getCacheControl());
+            GenericJson jwks = jsonFactory.fromInputStream(response.getContent(), GenericJson.class);
+
+            List<PublicKey> keys = new ArrayList<>();
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            for (Object entry : (List<Object>) jwks.get("keys")) {
+                Map<String, Object> jwk = (Map<String, Object>) entry;
+                if (!"RSA".equals(jwk.get("kty"))) {
+                    continue;
+                }
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("n")));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("e")));
+                keys.add(keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+            }
+
+            long now = clock.getAsLong();
+            log.debug("Loaded {} Google signing keys, valid for {} ms", keys.size(), ttlMs);
+            return new KeySet(List.copyOf(keys), now, now + ttlMs);
+        } finally {
+            response.disconnect();
+        }
+    }
+
+    private long ttlMs(String cacheControl) {
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return Math.min(Long.parseLong(matcher.group(1)) * 1000, maxTtlMs);
+            }
+        }
+        return maxTtlMs;
+    }
+
+    private record KeySet(List<PublicKey> keys, long fetchedAt, long expiresAt) {
+    }
+}
@@ -17,8 +17,11 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    // the VerifiedToken for the current request; read it instead of re-parsing the header
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthFilter.class.getName() + ".claims";
+
     @Autowired
-    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -30,17 +33,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            if (jwtUtil.isTokenValid(token)) {
-                String userId = jwtUtil.extractUserId(token);
+            // repeat requests with the same token skip signature verification
+            VerifiedToken verified = verifiedTokenCache.verify(token);
+            if (verified != null) {
+                String userId = verified.subject();
 
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(userId, null, List.of());
+                auth.setDetails(verified);
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
+                request.setAttribute(CLAIMS_ATTRIBUTE, verified);
             }
         }
 
         filterChain.doFilter(request, response);
     }
 }
-
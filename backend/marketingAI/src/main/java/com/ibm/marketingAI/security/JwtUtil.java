@@ -16,27 +16,56 @@ import java.util.Base64;
 @Component
 public class JwtUtil {
 
-    @Value("${security.jwt.secret-key}")
-    private String secretKey;
-
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey));
+    // decoded once; the parser is immutable and thread-safe so it is shared too
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    public JwtUtil(@Value("${security.jwt.secret-key}") String secretKey) {
+        this.signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     private static final long EXPIRATION_MS = 1000 * 60 * 60 * 24; // 24 hours
 
+    // numeric AppUser id, so a request can reference its user without looking it up by email
+    public static final String USER_ID_CLAIM = "uid";
+
     // ✅ Generate token with expiration
     public String generateToken(String email) {
-        return Jwts.builder()
+        return generateToken(email, null);
+    }
+
+    public String generateToken(String email, Long userId) {
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(email)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_MS))
-                .signWith(getSigningKey())
-                .compact();
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_MS));
+        if (userId != null) {
+            builder.claim(USER_ID_CLAIM, userId);
+        }
+        return builder.signWith(signingKey).compact();
     }
 
-    // ✅ Extract user ID from token
-    public String extractUserId(String token) {
+    // ✅ User id from verified claims; null for tokens issued before the claim existed
+    public static Long extractUid(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        return userId instanceof Number number ? number.longValue() : null;
+    }
+
+    // ✅ Verify signature and expiry once; null when the token is not usable
+    public Claims parseValidClaims(String token) {
+        try {
+            Claims claims = getClaims(token);
+            return isTokenExpired(claims) ? null : claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ✅ Extract subject (the user's email) from token
+    public String extractSubject(String token) {
         return getClaims(token).getSubject();
     }
 
@@ -47,21 +76,12 @@ public class JwtUtil {
 
     // ✅ Validate token
     public boolean isTokenValid(String token) {
-        try {
-            Claims claims = getClaims(token);
-            return !isTokenExpired(claims);
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseValidClaims(token) != null;
     }
 
     // ✅ Helpers
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     private boolean isTokenExpired(Claims claims) {
@@ -0,0 +1,17 @@
+package com.ibm.marketingAI.security;
+
+import java.time.Instant;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * The parts of a verified JWT that requests read: subject, user id and expiry.
+ * Immutable, so the one cached instance can be handed to every request that
+ * presents the same token.
+ */
+public record VerifiedToken(String subject, Long userId, Instant expiresAt) {
+
+    static VerifiedToken of(Claims claims) {
+        return new VerifiedToken(claims.getSubject(), JwtUtil.extractUid(claims), claims.getExpiration().toInstant());
+    }
+}
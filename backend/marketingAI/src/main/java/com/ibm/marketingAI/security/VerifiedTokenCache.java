@@ -0,0 +1,93 @@
+package com.ibm.marketingAI.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Tokens that already passed signature and expiry checks, keyed by a SHA-256
+ * of the token so raw tokens are never held. Only an immutable
+ * {@link VerifiedToken} is cached, never the parser's mutable {@link Claims},
+ * since every request with the token shares the entry. Each entry is evicted
+ * at its token's {@code exp}, so a cached token can never outlive itself.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${security.jwt.verified-cache.max-entries:10000}") long maxEntries,
+                              MeterRegistry meterRegistry) {
+        this(jwtUtil, maxEntries, meterRegistry, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    // the clock must agree with the ticker: it turns exp into a time to live that
+    // the cache then counts down on the ticker
+    VerifiedTokenCache(JwtUtil jwtUtil, long maxEntries, MeterRegistry meterRegistry, Ticker ticker, Clock clock) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remainingMs = token.expiresAt().toEpochMilli() - clock.millis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    }
+
+    /**
+     * Returns the verified token, checking the signature only on a miss.
+     * Invalid tokens return null and are not cached.
+     */
+    @Timed(value = "jwt.verification", histogram = true)
+    public VerifiedToken verify(String token) {
+        return cache.get(hash(token), key -> {
+            Claims claims = jwtUtil.parseValidClaims(token);
+            return claims == null ? null : VerifiedToken.of(claims);
+        });
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.ibm.marketingAI.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ibm.marketingAI.model.AbSummary;
+import com.ibm.marketingAI.model.CampaignResponse;
+import com.ibm.marketingAI.model.TweetMetricSnapshot;
+import com.ibm.marketingAI.repo.AbSummaryRepo;
+import com.ibm.marketingAI.repo.ResponseRepo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps one {@link AbSummary} row per campaign. Each update only touches the
+ * campaigns whose versions got new numbers and recomputes from the counters
+ * stored on the row, so reads are a primary-key lookup.
+ */
+@Service
+@Slf4j
+public class AbSummaryService {
+
+    private static final int MAX_BACKFILL_CONFLICTS = 10;
+
+    @Autowired
+    private AbSummaryRepo abSummaryRepo;
+
+    @Autowired
+    private ResponseRepo responseRepo;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${ab-summary.backfill.chunk-size:500}")
+    private int backfillChunkSize;
+
+    @Transactional
+    public AbSummary onCampaignSaved(CampaignResponse campaign) {
+        return abSummaryRepo.save(newSummary(campaign));
+    }
+
+    @Transactional
+    public void onCampaignsSaved(List<CampaignResponse> campaigns) {
+        abSummaryRepo.saveAll(campaigns.stream().map(AbSummaryService::newSummary).toList());
+    }
+
+    @Transactional
+    public void onSnapshots(Collection<TweetMetricSnapshot> snapshots) {
+        Map<Long, TweetMetricSnapshot> latest = new HashMap<>();
+        for (TweetMetricSnapshot snapshot : snapshots) {
+            latest.merge(snapshot.getVersionId(), snapshot,
+                    (a, b) -> a.getCapturedAt().isAfter(b.getCapturedAt()) ? a : b);
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        for (AbSummary summary : abSummaryRepo.findByVersionIds(latest.keySet())) {
+            TweetMetricSnapshot a = latest.get(summary.getVersionAId());
+            if (a != null) {
+                summary.setEngagementsA(engagements(a));
+                summary.setImpressionsA(a.getImpressions());
+            }
+            TweetMetricSnapshot b = latest.get(summary.getVersionBId());
+            if (b != null) {
+                summary.setEngagementsB(engagements(b));
+                summary.setImpressionsB(b.getImpressions());
+            }
+            recompute(summary);
+        }
+    }
+
+    public Optional<AbSummary> getForUser(String email, Long campaignId) {
+        return userCache.find(email)
+                .flatMap(user -> abSummaryRepo.findByCampaignIdAndOwnerId(campaignId, user.getId()));
+    }
+
+    public List<AbSummary> listForUser(String email) {
+        return userCache.find(email)
+                .map(user -> abSummaryRepo.findByOwnerIdOrderByCampaignIdDesc(user.getId()))
+                .orElse(List.of());
+    }
+
+    /**
+     * Creates summaries for campaigns saved before they existed, one chunk per
+     * transaction so startup never loads or locks the whole table. Another
+     * instance may be backfilling at the same time: a chunk that hits rows it
+     * already inserted is re-read, which leaves those rows out. A failure is
+     * logged rather than thrown, and the next start picks up where this stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long cursor = 0;
+        int backfilled = 0;
+        int conflicts = 0;
+        while (true) {
+            List<CampaignResponse> chunk;
+            try {
+                chunk = backfillChunk(cursor);
+            } catch (DataIntegrityViolationException e) {
+                // another instance inserted some of these rows first; re-reading the chunk leaves them out
+                if (++conflicts <= MAX_BACKFILL_CONFLICTS) {
+                    continue;
+                }
+                log.warn("A/B summary backfill stopped after {} campaigns: {}", backfilled, e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                log.warn("A/B summary backfill stopped after {} campaigns: {}", backfilled, e.getMessage());
+                return;
+            }
+            if (chunk.isEmpty()) {
+                break;
+            }
+            backfilled += chunk.size();
+            cursor = chunk.get(chunk.size() - 1).getId();
+        }
+        if (backfilled > 0) {
+            log.info("Backfilled A/B summaries for {} campaigns", backfilled);
+        }
+    }
+
+    private List<CampaignResponse> backfillChunk(long cursor) {
+        return transactionTemplate.execute(status -> {
+            List<CampaignResponse> missing = responseRepo.findWithoutAbSummary(cursor, PageRequest.of(0, backfillChunkSize));
+            abSummaryRepo.saveAll(missing.stream().map(AbSummaryService::newSummary).toList());
+            return missing;
+        });
+    }
+
+    private static AbSummary newSummary(CampaignResponse campaign) {
+        AbSummary summary = new AbSummary();
+        summary.setCampaignId(campaign.getId());
+        summary.setOwnerId(campaign.getOwner() == null ? null : campaign.getOwner().getId());
+        summary.setVersionAId(campaign.getVersionA().getV_id());
+        summary.setVersionBId(campaign.getVersionB().getV_id());
+        if (campaign.getVersionA().getMetrics() != null) {
+            summary.setPredictedConversionA(campaign.getVersionA().getMetrics().getConversionRate());
+        }
+        if (campaign.getVersionB().getMetrics() != null) {
+            summary.setPredictedConversionB(campaign.getVersionB().getMetrics().getConversionRate());
+        }
+        recompute(summary);
+        return summary;
+    }
+
+    private static long engagements(TweetMetricSnapshot snapshot) {
+        return (long) snapshot.getLikes() + snapshot.getRetweets() + snapshot.getReplies() + snapshot.getQuotes();
+    }
+
+    static void recompute(AbSummary summary) {
+        double rateA;
+        double rateB;
+        if (summary.getImpressionsA() > 0 && summary.getImpressionsB() > 0) {
+            rateA = (double) summary.getEngagementsA() / summary.getImpressionsA();
+            rateB = (double) summary.getEngagementsB() / summary.getImpressionsB();
+            summary.setBasis("measured");
+            summary.setConfidence(confidence(summary.getEngagementsA(), summary.getImpressionsA(),
+                    summary.getEngagementsB(), summary.getImpressionsB()));
+        } else {
+            rateA = summary.getPredictedConversionA();
+            rateB = summary.getPredictedConversionB();
+            summary.setBasis("predicted");
+            summary.setConfidence(null);
+        }
+        summary.setLift(rateA == 0 ? null : (rateB - rateA) / rateA);
+        summary.setLeader(rateA == rateB ? null : rateB > rateA ? "B" : "A");
+        summary.setUpdatedAt(Instant.now());
+    }
+
+    // two-proportion z-test; returns 1 - p (two-sided)
+    static double confidence(long successesA, long trialsA, long successesB, long trialsB) {
+        double pooled = (double) (successesA + successesB) / (trialsA + trialsB);
+        double standardError = Math.sqrt(pooled * (1 - pooled) * (1.0 / trialsA + 1.0 / trialsB));
+        if (standardError == 0) {
+            return 0;
+        }
+        double z = Math.abs((double) successesB / trialsB - (double) successesA / trialsA) / standardError;
+        return erf(z / Math.sqrt(2));
+    }
+
+    // Abramowitz & Stegun 7.1.26, |error| < 1.5e-7
+    private static double erf(double x) {
+        double t = 1 / (1 + 0.3275911 * x);
+        double poly = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))));
+        return 1 - poly * Math.exp(-x * x);
+    }
+}
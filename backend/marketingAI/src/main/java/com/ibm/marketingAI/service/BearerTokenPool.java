@@ -0,0 +1,167 @@
+package com.ibm.marketingAI.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Twitter bearer tokens with the quota each one reported last. Calls go to the
+ * token with the most headroom (remaining quota minus calls in flight); when
+ * every token is spent, callers wait for the earliest reset if it is within
+ * {@code maxWaitMs} and are shed with {@link TwitterRateLimitedException}
+ * otherwise.
+ */
+@Component
+@Slf4j
+public class BearerTokenPool {
+
+    static final String REMAINING_HEADER = "x-rate-limit-remaining";
+    static final String RESET_HEADER = "x-rate-limit-reset";
+
+    // used when Twitter answers 429 without saying when the window resets
+    private static final long DEFAULT_WINDOW_MS = TimeUnit.MINUTES.toMillis(15);
+
+    private final List<TokenState> tokens;
+    private final long maxWaitMs;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    public BearerTokenPool(@Value("${twitter.bearer.tokens:${twitter.bearer.token},${twitter.bearer.token.2}}") List<String> tokens,
+                           @Value("${twitter.tokens.max-wait-ms:2000}") long maxWaitMs) {
+        this.tokens = tokens.stream()
+                .map(String::trim)
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .map(TokenState::new)
+                .toList();
+        if (this.tokens.isEmpty()) {
+            throw new IllegalArgumentException("twitter.bearer.tokens must list at least one token");
+        }
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    /** Reserves the token with the most headroom; pass the lease back to {@link #release}. */
+    public Lease acquire() {
+        lock.lock();
+        try {
+            long deadline = System.currentTimeMillis() + maxWaitMs;
+            while (true) {
+                long now = System.currentTimeMillis();
+                TokenState best = null;
+                for (TokenState token : tokens) {
+                    if (token.headroom(now) > 0 && (best == null || token.headroom(now) > best.headroom(now))) {
+                        best = token;
+                    }
+                }
+                if (best != null) {
+                    best.inFlight++;
+                    return new Lease(best);
+                }
+
+                long nextReset = tokens.stream().mapToLong(token -> token.resetAtMs).min().orElse(now);
+                if (nextReset > deadline) {
+                    throw new TwitterRateLimitedException(Math.max(0, nextReset - now));
+                }
+                // woken early when an in-flight call returns a token's quota
+                released.await(Math.max(1, Math.min(nextReset, deadline) - now), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TwitterRateLimitedException(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long msUntilNextReset() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            return Math.max(0, tokens.stream().mapToLong(token -> token.resetAtMs).min().orElse(now) - now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the lease and records the quota from the response headers, if
+     * any. {@code throttled} marks the token spent even when Twitter sent no
+     * headers with its 429.
+     */
+    public void release(Lease lease, HttpHeaders headers, boolean throttled) {
+        lock.lock();
+        try {
+            TokenState token = lease.state;
+            token.inFlight--;
+
+            Long remaining = headerValue(headers, REMAINING_HEADER);
+            Long resetSeconds = headerValue(headers, RESET_HEADER);
+            if (remaining != null && resetSeconds != null) {
+                token.remaining = remaining;
+                token.resetAtMs = TimeUnit.SECONDS.toMillis(resetSeconds);
+            }
+            if (throttled) {
+                token.remaining = 0;
+                if (token.resetAtMs <= System.currentTimeMillis()) {
+                    token.resetAtMs = System.currentTimeMillis() + DEFAULT_WINDOW_MS;
+                }
+                log.warn("Twitter bearer token #{} throttled until {}", tokens.indexOf(token), token.resetAtMs);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Long headerValue(HttpHeaders headers, String name) {
+        String value = headers == null ? null : headers.getFirst(name);
+        try {
+            return value == null ? null : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static final class Lease {
+
+        private final TokenState state;
+
+        private Lease(TokenState state) {
+            this.state = state;
+        }
+
+        public String token() {
+            return state.token;
+        }
+    }
+
+    // guarded by the pool lock
+    private static final class TokenState {
+
+        private final String token;
+        private long remaining = Long.MAX_VALUE; // unknown until Twitter tells us
+        private long resetAtMs;
+        private int inFlight;
+
+        private TokenState(String token) {
+            this.token = token;
+        }
+
+        private long headroom(long now) {
+            // past the reset the window is fresh, whatever we last heard
+            long quota = now >= resetAtMs ? Long.MAX_VALUE : remaining;
+            return quota == Long.MAX_VALUE ? Long.MAX_VALUE - inFlight : quota - inFlight;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.ibm.marketingAI.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ibm.marketingAI.dto.CampaignRequest;
+
+import lombok.Getter;
+
+@Getter
+public class BulkGenerationJob {
+
+    @Getter
+    public static class Item {
+
+        private final int index;
+        private final CampaignRequest request;
+
+        private volatile GenerationJob.Status status = GenerationJob.Status.PENDING;
+        private volatile Long campaignId;
+        private volatile String error;
+
+        Item(int index, CampaignRequest request) {
+            this.index = index;
+            this.request = request;
+        }
+
+        void markRunning() {
+            status = GenerationJob.Status.RUNNING;
+        }
+
+        void complete(Long campaignId) {
+            this.campaignId = campaignId;
+            status = GenerationJob.Status.COMPLETED;
+        }
+
+        void fail(Throwable cause) {
+            error = cause.getMessage();
+            status = GenerationJob.Status.FAILED;
+        }
+    }
+
+    private final String id;
+    private final String ownerEmail;
+    private final Instant submittedAt = Instant.now();
+    private final List<Item> items;
+    private final AtomicInteger nextItem = new AtomicInteger();
+
+    private volatile Instant completedAt;
+
+    public BulkGenerationJob(String id, String ownerEmail, List<CampaignRequest> requests) {
+        this.id = id;
+        this.ownerEmail = ownerEmail;
+        List<Item> items = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            items.add(new Item(i, requests.get(i)));
+        }
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    // hands each item to exactly one worker; null once all are taken
+    Item nextItem() {
+        int index = nextItem.getAndIncrement();
+        return index < items.size() ? items.get(index) : null;
+    }
+
+    void finish() {
+        completedAt = Instant.now();
+    }
+
+    public boolean isDone() {
+        return completedAt != null;
+    }
+}
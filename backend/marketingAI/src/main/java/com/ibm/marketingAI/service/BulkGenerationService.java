@@ -0,0 +1,240 @@
+package com.ibm.marketingAI.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import com.ibm.marketingAI.dto.BulkCampaignRequest;
+import com.ibm.marketingAI.dto.BulkJobDto;
+import com.ibm.marketingAI.dto.CampaignRequest;
+import com.ibm.marketingAI.model.AppUser;
+import com.ibm.marketingAI.model.CampaignResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs many generations as one job. At most {@code parallelism} items call
+ * Granite at a time (each on the generation executor), and finished items
+ * are saved in chunks of {@code persistBatchSize} per transaction rather
+ * than one round of inserts per campaign.
+ */
+@Service
+@Slf4j
+public class BulkGenerationService {
+
+    @Autowired
+    private CampaignService campaignService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    @Qualifier("generationExecutor")
+    private AsyncTaskExecutor generationExecutor;
+
+    @Value("${generation.bulk.max-items:100}")
+    private int maxItems;
+
+    @Value("${generation.bulk.parallelism:4}")
+    private int parallelism;
+
+    @Value("${generation.bulk.persist-batch-size:20}")
+    private int persistBatchSize;
+
+    @Value("${generation.jobs.retention-ms:900000}")
+    private long retentionMs;
+
+    private final Map<String, BulkGenerationJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Queues every request of the bulk and returns immediately. Throws
+     * {@link IllegalArgumentException} for an empty or oversized bulk and
+     * {@link TaskRejectedException} when no worker could be started.
+     */
+    public BulkGenerationJob submit(BulkCampaignRequest bulk, String email, Long userId, boolean forceFresh) {
+        purgeExpired();
+
+        List<CampaignRequest> requests = expand(bulk);
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("Bulk request has no campaigns");
+        }
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentException("Bulk request has " + requests.size() + " campaigns, the limit is " + maxItems);
+        }
+        AppUser user = userCache.reference(email, userId);
+
+        BulkGenerationJob job = new BulkGenerationJob(UUID.randomUUID().toString(), email, requests);
+        Run run = new Run(job, user, forceFresh);
+        jobs.put(job.getId(), job);
+
+        // the submitter holds one worker slot until every worker is queued, so an
+        // early-finishing worker cannot close the job while others are still starting
+        int started = 0;
+        for (int i = 0; i < Math.min(parallelism, requests.size()); i++) {
+            run.activeWorkers.incrementAndGet();
+            try {
+                generationExecutor.execute(() -> work(run));
+                started++;
+            } catch (TaskRejectedException e) {
+                run.activeWorkers.decrementAndGet();
+                break;
+            }
+        }
+        if (started == 0) {
+            jobs.remove(job.getId());
+            throw new TaskRejectedException("Generation executor is saturated");
+        }
+        workerDone(run);
+        return job;
+    }
+
+    public Optional<BulkGenerationJob> find(String jobId, String email) {
+        BulkGenerationJob job = jobs.get(jobId);
+        if (job == null || !job.getOwnerEmail().equals(email)) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    public BulkJobDto toDto(BulkGenerationJob job) {
+        List<BulkJobDto.Item> items = new ArrayList<>(job.getItems().size());
+        int completed = 0;
+        int failed = 0;
+        for (BulkGenerationJob.Item item : job.getItems()) {
+            GenerationJob.Status status = item.getStatus();
+            if (status == GenerationJob.Status.COMPLETED) {
+                completed++;
+            } else if (status == GenerationJob.Status.FAILED) {
+                failed++;
+            }
+            items.add(new BulkJobDto.Item(item.getIndex(), status.name(), item.getRequest(), item.getCampaignId(), item.getError()));
+        }
+        String status = job.isDone() ? (failed == items.size() ? "FAILED" : "COMPLETED")
+                : completed + failed > 0 || job.getNextItem().get() > 0 ? "RUNNING" : "PENDING";
+        return new BulkJobDto(job.getId(), status, items.size(), completed, failed,
+                job.getSubmittedAt(), job.getCompletedAt(), items);
+    }
+
+    List<CampaignRequest> expand(BulkCampaignRequest bulk) {
+        List<CampaignRequest> requests = new ArrayList<>();
+        if (bulk.getRequests() != null) {
+            requests.addAll(bulk.getRequests());
+        }
+        CampaignRequest base = bulk.getBase();
+        if (base == null) {
+            return requests;
+        }
+
+        List<String> tones = orElse(bulk.getTones(), base.getTone());
+        List<BulkCampaignRequest.AgeBand> ageBands = orElse(bulk.getAgeBands(),
+                new BulkCampaignRequest.AgeBand(base.getMinAge(), base.getMaxAge()));
+        List<String> audienceTypes = orElse(bulk.getAudienceTypes(), base.getAudienceType());
+        for (String tone : tones) {
+            for (BulkCampaignRequest.AgeBand band : ageBands) {
+                for (String audienceType : audienceTypes) {
+                    requests.add(new CampaignRequest(tone, base.getBrandName(), base.getAudienceCategory(),
+                            audienceType, base.getProductName(), band.getMinAge(), band.getMaxAge()));
+                }
+            }
+        }
+        return requests;
+    }
+
+    private static <T> List<T> orElse(List<T> values, T fallback) {
+        return values == null || values.isEmpty() ? Collections.singletonList(fallback) : values;
+    }
+
+    private void work(Run run) {
+        try {
+            BulkGenerationJob.Item item;
+            while ((item = run.job.nextItem()) != null) {
+                item.markRunning();
+                try {
+                    CampaignResponse generated = campaignService.fetchGeneration(item.getRequest(), run.forceFresh, true);
+                    List<Pending> chunk = run.add(new Pending(item,
+                            campaignService.buildCampaign(item.getRequest(), generated, run.user)), persistBatchSize);
+                    persist(chunk);
+                } catch (Exception e) {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.warn("Bulk job {} item {} failed: {}", run.job.getId(), item.getIndex(), cause.getMessage());
+                    item.fail(cause);
+                }
+            }
+        } finally {
+            workerDone(run);
+        }
+    }
+
+    private void workerDone(Run run) {
+        if (run.activeWorkers.decrementAndGet() == 0) {
+            persist(run.drain());
+            run.job.finish();
+            log.info("Bulk job {} finished: {} items", run.job.getId(), run.job.getItems().size());
+        }
+    }
+
+    private void persist(List<Pending> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<CampaignResponse> saved = campaignService.saveCampaigns(chunk.stream().map(Pending::campaign).toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).item().complete(saved.get(i).getId());
+            }
+        } catch (RuntimeException e) {
+            log.error("Saving {} bulk campaigns failed: {}", chunk.size(), e.getMessage());
+            chunk.forEach(pending -> pending.item().fail(e));
+        }
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minusMillis(retentionMs);
+        jobs.values().removeIf(job -> job.isDone() && job.getCompletedAt().isBefore(cutoff));
+    }
+
+    private record Pending(BulkGenerationJob.Item item, CampaignResponse campaign) {
+    }
+
+    // per-job worker state
+    private static final class Run {
+
+        private final BulkGenerationJob job;
+        private final AppUser user;
+        private final boolean forceFresh;
+        private final AtomicInteger activeWorkers = new AtomicInteger(1);
+        private List<Pending> buffer = new ArrayList<>();
+
+        private Run(BulkGenerationJob job, AppUser user, boolean forceFresh) {
+            this.job = job;
+            this.user = user;
+            this.forceFresh = forceFresh;
+        }
+
+        // returns a full chunk to save, or an empty list while the buffer is still filling
+        private synchronized List<Pending> add(Pending pending, int batchSize) {
+            buffer.add(pending);
+            return buffer.size() >= batchSize ? drain() : List.of();
+        }
+
+        private synchronized List<Pending> drain() {
+            List<Pending> chunk = buffer;
+            buffer = new ArrayList<>();
+            return chunk;
+        }
+    }
+}
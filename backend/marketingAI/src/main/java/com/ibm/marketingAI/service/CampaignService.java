@@ -1,16 +1,24 @@
 package com.ibm.marketingAI.service;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.ibm.marketingAI.dto.CampaignPageDto;
 import com.ibm.marketingAI.dto.CampaignRequest;
 import com.ibm.marketingAI.dto.CampaignResponseDto;
+import com.ibm.marketingAI.dto.CampaignRow;
+import com.ibm.marketingAI.dto.GraniteDelta;
+import com.ibm.marketingAI.dto.MetricBucket;
 import com.ibm.marketingAI.dto.TwitterAnalyticsDTO;
-import com.ibm.marketingAI.dto.TwitterDTO;
 import com.ibm.marketingAI.dto.TwitterPostDTO;
 import com.ibm.marketingAI.dto.VersionDto;
 import com.ibm.marketingAI.model.AppUser;
@@ -18,14 +26,14 @@ import com.ibm.marketingAI.model.CampaignResponse;
 import com.ibm.marketingAI.model.Metrics;
 import com.ibm.marketingAI.model.Version;
 import com.ibm.marketingAI.repo.ResponseRepo;
-import com.ibm.marketingAI.repo.UserRepository;
+import com.ibm.marketingAI.repo.TweetMetricSnapshotRepo;
 import com.ibm.marketingAI.repo.VersionRepo;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.*;
+import org.springframework.transaction.support.TransactionTemplate;
 
 
 
@@ -33,11 +41,8 @@ import org.springframework.http.*;
 @Slf4j
 public class CampaignService {
 
-    @Value("${twitter.bearer.token}")
-    private String bearerToken;
-    
-    @Value("${twitter.bearer.token.2}")
-    private String bearerToken2;
+    @Value("${campaigns.page.max-size:100}")
+    private int maxPageSize;
 
     @Autowired
     private ResponseRepo campaignRepo;
@@ -46,7 +51,7 @@ public class CampaignService {
     private VersionRepo versionRepo;
 
     @Autowired
-    private UserRepository userRepo;
+    private UserCache userCache;
 
     @Autowired
     private ResponseRepo responseRepo;
@@ -54,44 +59,97 @@ public class CampaignService {
     @Autowired
     private GraniteIntegrationService graniteIntegrationService;
 
-    public CampaignResponse generateCampaign(CampaignRequest input,String email) {
-        // Call Node.js Granite service
-        CampaignResponse graniteResponse = graniteIntegrationService.callGranite(input);
+    @Autowired
+    private GenerationCache generationCache;
+
+    @Autowired
+    private GraniteCallCoalescer graniteCallCoalescer;
+
+    @Autowired
+    private TweetAnalyticsCache tweetAnalyticsCache;
 
-        // Map Version A
-        Version versionA = new Version();
-        versionA.setTitle(graniteResponse.getVersionA().getTitle());
-        versionA.setContent(graniteResponse.getVersionA().getContent());
+    @Autowired
+    private TweetMetricSnapshotRepo snapshotRepo;
+
+    @Autowired
+    private AbSummaryService abSummaryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
-        Metrics metrics = new Metrics();  
-        metrics.setOpenRate(graniteResponse.getVersionA().getMetrics().getOpenRate());
-        metrics.setClickThroughRate(graniteResponse.getVersionA().getMetrics().getClickThroughRate());
-        metrics.setConversionRate(graniteResponse.getVersionA().getMetrics().getConversionRate());
+    public CampaignResponse generateCampaign(CampaignRequest input,String email) {
+        return generateCampaign(input, email, null, false);
+    }
 
-        versionA.setMetrics(metrics);
+    /**
+     * Generates and saves a campaign for the user. {@code userId} is the id
+     * from the caller's token when it has one; the owner is then attached by
+     * reference and the user row is never read.
+     */
+    @Timed(value = "campaign.generation", extraTags = {"mode", "blocking"}, histogram = true)
+    public CampaignResponse generateCampaign(CampaignRequest input, String email, Long userId, boolean forceFresh) {
+        return generateCampaign(input, email, userId, forceFresh, false);
+    }
 
-        // Map Version B
-        Version versionB = new Version();
+    /**
+     * As above; {@code queued} is true for a job running on the generation
+     * executor, which waits for a Granite slot instead of failing fast.
+     */
+    @Timed(value = "campaign.generation", extraTags = {"mode", "blocking"}, histogram = true)
+    public CampaignResponse generateCampaign(CampaignRequest input, String email, Long userId, boolean forceFresh,
+                                             boolean queued) {
+        // Call Node.js Granite service, unless an identical request was generated recently
+        CampaignResponse graniteResponse = fetchGeneration(input, forceFresh, queued);
+
+        return persistGeneration(input, graniteResponse, email, userId);
+    }
 
-        Metrics anotherMetrics = new Metrics();
-        versionB.setTitle(graniteResponse.getVersionB().getTitle());
-        versionB.setContent(graniteResponse.getVersionB().getContent());
-        anotherMetrics.setOpenRate(graniteResponse.getVersionB().getMetrics().getOpenRate());
-        anotherMetrics.setClickThroughRate(graniteResponse.getVersionB().getMetrics().getClickThroughRate());
-        anotherMetrics.setConversionRate(graniteResponse.getVersionB().getMetrics().getConversionRate());
+    /**
+     * Like {@link #generateCampaign(CampaignRequest, String, Long, boolean)} but passes
+     * the text to {@code onDelta} as Granite produces it. A cached generation is
+     * returned straight away with no deltas.
+     */
+    @Timed(value = "campaign.generation", extraTags = {"mode", "stream"}, histogram = true)
+    public CampaignResponse generateCampaignStreaming(CampaignRequest input, String email, Long userId, boolean forceFresh,
+                                                      Consumer<GraniteDelta> onDelta) {
+        String key = GenerationCache.keyOf(input);
+        CampaignResponse graniteResponse = forceFresh ? null : generationCache.get(key);
+        if (graniteResponse == null) {
+            graniteResponse = GenerationTrace.stage("granite", () -> graniteIntegrationService.streamGranite(input, onDelta));
+            generationCache.put(key, graniteResponse);
+        }
+        return persistGeneration(input, graniteResponse, email, userId);
+    }
 
-        versionB.setMetrics(anotherMetrics);
-        // Save both versions
-        versionRepo.save(versionA);
-        versionRepo.save(versionB);
+    private CampaignResponse persistGeneration(CampaignRequest input, CampaignResponse graniteResponse,
+                                               String email, Long userId) {
+        // only the inserts run in the transaction, so no connection is held during the Granite call;
+        // versions go in through the cascade on CampaignResponse, batched with the other inserts at commit
+        return GenerationTrace.stage("persist", () -> transactionTemplate.execute(status -> {
+            AppUser user = userCache.reference(email, userId);
+
+            CampaignResponse saved = campaignRepo.save(buildCampaign(input, graniteResponse, user));
+            abSummaryService.onCampaignSaved(saved);
+            return saved;
+        }));
+    }
 
-        // Create and save CampaignResponse
-        AppUser user = userRepo.findByEmail(email)
-        .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Saves already generated campaigns in one transaction, e.g. a chunk of a
+     * bulk generation, instead of one round of inserts per campaign.
+     */
+    @Transactional
+    public List<CampaignResponse> saveCampaigns(List<CampaignResponse> campaigns) {
+        List<CampaignResponse> saved = campaignRepo.saveAll(campaigns);
+        abSummaryService.onCampaignsSaved(saved);
+        return saved;
+    }
 
+    // maps a Granite response onto new, unsaved entities owned by user
+    public CampaignResponse buildCampaign(CampaignRequest input, CampaignResponse graniteResponse, AppUser user) {
         CampaignResponse response = new CampaignResponse();
-        response.setVersionA(versionA);
-        response.setVersionB(versionB);
+        response.setVersionA(copyVersion(graniteResponse.getVersionA()));
+        response.setVersionB(copyVersion(graniteResponse.getVersionB()));
         response.setOwner(user);
 
         response.setAudienceCategory(input.getAudienceCategory());
@@ -101,98 +159,138 @@ public class CampaignService {
         response.setMinAge(input.getMinAge());
         response.setProductName(input.getProductName());
         response.setTone(input.getTone());
-
-        return campaignRepo.save(response);
+        return response;
     }
 
-    @Transactional(readOnly = true)
-    public List<CampaignResponseDto> getAllCampaignForUser(String email) {
-        AppUser user = userRepo.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-
-        List<CampaignResponse> campaigns = responseRepo.findByOwner(user);
-
-        return campaigns.stream()
-    .map(c -> {
-        CampaignResponseDto dto = new CampaignResponseDto();
-        dto.setId(c.getId());
-        dto.setTone(c.getTone());
-        dto.setBrandName(c.getBrandName());
-        dto.setAudienceCategory(c.getAudienceCategory());
-        dto.setAudienceType(c.getAudienceType());
-        dto.setProductName(c.getProductName());
-        dto.setMinAge(c.getMinAge());
-        dto.setMaxAge(c.getMaxAge());
-        dto.setVersionA(new VersionDto(c.getVersionA().getV_id(),c.getVersionA().getTitle(), c.getVersionA().getContent()));
-        dto.setVersionB(new VersionDto(c.getVersionB().getV_id(),c.getVersionA().getTitle(), c.getVersionB().getContent()));
-        return dto;
-    })
-    .collect(Collectors.toList());
-
+    private static Version copyVersion(Version generated) {
+        Version version = new Version();
+        version.setTitle(generated.getTitle());
+        version.setContent(generated.getContent());
+
+        Metrics metrics = new Metrics();
+        metrics.setOpenRate(generated.getMetrics().getOpenRate());
+        metrics.setClickThroughRate(generated.getMetrics().getClickThroughRate());
+        metrics.setConversionRate(generated.getMetrics().getConversionRate());
+        version.setMetrics(metrics);
+        return version;
     }
 
-    public void saveTwitterPost(TwitterPostDTO dto) {
-        Version version = versionRepo.findById(dto.getV_id())
-                .orElseThrow(() -> new IllegalArgumentException("Version not found with id: " + dto.getV_id()));
-
-        version.setTwitter_id(dto.getTwitterId());
-        version.setTwitter_link(dto.getPostUrl());
+    /**
+     * Granite output for a request: from the generation cache, from an identical
+     * call already in flight, or from a fresh upstream call. Nothing is saved.
+     * {@code queued} callers wait for a Granite bulkhead slot, see
+     * {@link GraniteIntegrationService#callGranite(CampaignRequest, boolean)}.
+     */
+    public CampaignResponse fetchGeneration(CampaignRequest input, boolean forceFresh, boolean queued) {
+        String key = GenerationCache.keyOf(input);
+        if (!forceFresh) {
+            CampaignResponse cached = generationCache.get(key);
+            if (cached != null) {
+                log.debug("generation cache hit for {}", key);
+                return cached;
+            }
+        }
 
-        versionRepo.save(version);
+        // Identical requests already in flight share one upstream call; the cache
+        // is filled before the in-flight slot is released so no caller slips between them.
+        // Queued and synchronous callers never share a call: a queued job must not inherit
+        // a synchronous leader's fast bulkhead rejection, nor a request thread a queued wait
+        String flightKey = key + (queued ? "|q" : "|s");
+        return GenerationTrace.stage("granite", () -> graniteCallCoalescer.call(flightKey, () -> {
+            CampaignResponse graniteResponse = graniteIntegrationService.callGranite(input, queued);
+            generationCache.put(key, graniteResponse);
+            return graniteResponse;
+        }));
     }
 
+    @Transactional(readOnly = true)
+    public List<CampaignResponseDto> getAllCampaignForUser(String email) {
+        AppUser user = userCache.reference(email);
 
+        return responseRepo.findRows(user).stream()
+            .map(this::toDto)
+            .collect(Collectors.toList());
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    }
 
-    public TwitterAnalyticsDTO fetchTweetAnalytics(String tweetId) {
-        String url = "https://api.twitter.com/2/tweets/" + tweetId + "?tweet.fields=public_metrics";
-
-        log.info("url is "+url);
-        Long v_id = versionRepo.findIdByTwitterId(tweetId);
-        
-        
-        log.info("v_id is "+v_id);
-
-        if (v_id % 2 == 0) {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(bearerToken);
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<TwitterDTO> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    TwitterDTO.class
-            );
-
-        return response.getBody().getData();
-        } else {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(bearerToken2);
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<TwitterDTO> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    TwitterDTO.class
-            );
-
-            return response.getBody().getData();
+    /**
+     * One keyset page of a user's campaigns, newest first. Summary pages carry
+     * version titles only; full pages include both content bodies.
+     */
+    @Transactional(readOnly = true)
+    public CampaignPageDto getCampaignPage(String email, Long cursor, int limit, boolean includeContent) {
+        AppUser user = userCache.reference(email);
+
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        long after = cursor == null ? Long.MAX_VALUE : cursor;
+        // fetch one extra row to learn whether another page exists
+        Pageable page = PageRequest.of(0, size + 1);
+
+        List<CampaignRow> rows = includeContent
+            ? responseRepo.findRows(user, after, page)
+            : responseRepo.findSummaries(user, after, page);
+        List<CampaignResponseDto> items = rows.stream()
+            .map(this::toDto)
+            .collect(Collectors.toList());
+
+        Long nextCursor = null;
+        if (items.size() > size) {
+            items = items.subList(0, size);
+            nextCursor = items.get(size - 1).getId();
         }
+        return new CampaignPageDto(items, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CampaignResponseDto> getCampaignForUser(String email, Long campaignId) {
+        AppUser user = userCache.reference(email);
 
+        return responseRepo.findRow(user, campaignId).map(this::toDto);
+    }
 
+    private CampaignResponseDto toDto(CampaignRow row) {
+        return new CampaignResponseDto(row.getId(), row.getTone(), row.getBrandName(), row.getAudienceCategory(),
+            row.getAudienceType(), row.getProductName(), row.getMinAge(), row.getMaxAge(),
+            new VersionDto(row.getVersionAId(), row.getVersionATitle(), row.getVersionAContent()),
+            new VersionDto(row.getVersionBId(), row.getVersionBTitle(), row.getVersionBContent()));
+    }
 
-        
+    @Transactional
+    public void saveTwitterPost(TwitterPostDTO dto) {
+        // update in place: no need to load the version (or its content) to set two columns
+        int updated = versionRepo.updateTwitterPost(dto.getV_id(), dto.getTwitterId(), dto.getPostUrl());
+        if (updated == 0) {
+            throw new IllegalArgumentException("Version not found with id: " + dto.getV_id());
+        }
+        // the tweet may have been looked up, and cached as untracked, before it was linked
+        tweetAnalyticsCache.invalidate(dto.getTwitterId());
     }
 
 
 
+    /**
+     * Engagement history of one of the user's versions; empty when the version
+     * does not belong to a campaign the user owns.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<MetricBucket>> getMetricSeries(String email, Long versionId, String bucket,
+                                                        Instant from, Instant to) {
+        if (!"hour".equals(bucket) && !"day".equals(bucket)) {
+            throw new IllegalArgumentException("bucket must be hour or day");
+        }
+        if (!responseRepo.ownsVersion(userCache.reference(email), versionId)) {
+            return Optional.empty();
+        }
+        return Optional.of("hour".equals(bucket)
+                ? snapshotRepo.findHourly(versionId, from, to)
+                : snapshotRepo.findDaily(versionId, from, to));
+    }
 
+    // served from the analytics cache; Twitter is only called when a tracked tweet's entry is missing or
+    // due a refresh. Null for tweets that are not tracked in version.twitter_id or unknown to Twitter.
+    @Timed(value = "twitter.analytics", histogram = true)
+    public TwitterAnalyticsDTO fetchTweetAnalytics(String tweetId) {
+        return tweetAnalyticsCache.get(tweetId);
+    }
 
 }
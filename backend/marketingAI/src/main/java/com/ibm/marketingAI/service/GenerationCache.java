@@ -0,0 +1,81 @@
+package com.ibm.marketingAI.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.ibm.marketingAI.dto.CampaignRequest;
+import com.ibm.marketingAI.model.CampaignResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Content-addressed cache of Granite generations. Requests that differ only
+ * in case or surrounding whitespace share an entry; the cached value is the
+ * raw upstream response and is never persisted directly.
+ */
+@Component
+public class GenerationCache {
+
+    private final Cache<String, CampaignResponse> cache;
+
+    @Autowired
+    public GenerationCache(@Value("${generation.cache.ttl-ms:3600000}") long ttlMs,
+                           @Value("${generation.cache.max-entries:1000}") long maxEntries,
+                           MeterRegistry meterRegistry) {
+        this(ttlMs, maxEntries, Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "generation");
+    }
+
+    GenerationCache(long ttlMs, long maxEntries, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maxEntries)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public CampaignResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, CampaignResponse response) {
+        if (response != null && response.getVersionA() != null && response.getVersionB() != null) {
+            cache.put(key, response);
+        }
+    }
+
+    public static String keyOf(CampaignRequest request) {
+        String normalized = String.join("\u0000",
+                normalize(request.getBrandName()),
+                normalize(request.getProductName()),
+                normalize(request.getTone()),
+                normalize(request.getAudienceCategory()),
+                normalize(request.getAudienceType()),
+                Integer.toString(request.getMinAge()),
+                Integer.toString(request.getMaxAge()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
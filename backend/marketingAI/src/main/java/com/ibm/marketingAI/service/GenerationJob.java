@@ -0,0 +1,51 @@
+package com.ibm.marketingAI.service;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+import com.ibm.marketingAI.model.CampaignResponse;
+
+import lombok.Getter;
+
+@Getter
+public class GenerationJob {
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final String ownerEmail;
+    private final Long ownerId;
+    private final Instant submittedAt = Instant.now();
+    private final CompletableFuture<CampaignResponse> result = new CompletableFuture<>();
+
+    private volatile Status status = Status.PENDING;
+    private volatile Instant completedAt;
+    private volatile String error;
+
+    public GenerationJob(String id, String ownerEmail, Long ownerId) {
+        this.id = id;
+        this.ownerEmail = ownerEmail;
+        this.ownerId = ownerId;
+    }
+
+    void markRunning() {
+        status = Status.RUNNING;
+    }
+
+    void complete(CampaignResponse response) {
+        status = Status.COMPLETED;
+        completedAt = Instant.now();
+        result.complete(response);
+    }
+
+    void fail(Throwable cause) {
+        status = Status.FAILED;
+        completedAt = Instant.now();
+        error = cause.getMessage();
+        result.completeExceptionally(cause);
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+}
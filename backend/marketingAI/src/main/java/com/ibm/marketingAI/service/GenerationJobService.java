@@ -0,0 +1,169 @@
+package com.ibm.marketingAI.service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ibm.marketingAI.dto.CampaignRequest;
+import com.ibm.marketingAI.dto.GenerationJobDto;
+import com.ibm.marketingAI.model.CampaignResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class GenerationJobService {
+
+    @Autowired
+    private CampaignService campaignService;
+
+    @Autowired
+    @Qualifier("generationExecutor")
+    private AsyncTaskExecutor generationExecutor;
+
+    @Value("${generation.jobs.retention-ms:900000}")
+    private long retentionMs;
+
+    @Value("${generation.jobs.stream-timeout-ms:180000}")
+    private long streamTimeoutMs;
+
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Queues a generation and returns immediately. Throws {@link TaskRejectedException}
+     * when the generation executor is saturated.
+     */
+    public GenerationJob submit(CampaignRequest request, String email, Long userId, boolean forceFresh) {
+        purgeExpired();
+
+        GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), email, userId);
+        jobs.put(job.getId(), job);
+        try {
+            generationExecutor.execute(() -> run(job, request, forceFresh));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<GenerationJob> find(String jobId, String email) {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null || !job.getOwnerEmail().equals(email)) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    public GenerationJobDto toDto(GenerationJob job) {
+        return new GenerationJobDto(
+            job.getId(),
+            job.getStatus().name(),
+            job.getSubmittedAt(),
+            job.getCompletedAt(),
+            job.getStatus() == GenerationJob.Status.COMPLETED ? job.getResult().join() : null,
+            job.getError()
+        );
+    }
+
+    /**
+     * Opens an SSE stream that emits the current status and then a single
+     * {@code result} or {@code error} event once the job finishes.
+     */
+    public SseEmitter stream(GenerationJob job) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        try {
+            emitter.send(SseEmitter.event().name("status").data(toDto(job)));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+
+        job.getResult().whenComplete((response, error) -> {
+            try {
+                if (error == null) {
+                    emitter.send(SseEmitter.event().name("result").data(toDto(job)));
+                } else {
+                    emitter.send(SseEmitter.event().name("error").data(toDto(job)));
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("SSE client for job {} went away: {}", job.getId(), e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Runs a generation on the generation executor and streams it over SSE:
+     * {@code delta} events while Granite writes, then one {@code result} (the
+     * saved campaign) or {@code error} event. The campaign is saved even if the
+     * client disconnects part way. Throws {@link TaskRejectedException} when
+     * the executor is saturated.
+     */
+    public SseEmitter streamGeneration(CampaignRequest request, String email, Long userId, boolean forceFresh) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        AtomicBoolean clientGone = new AtomicBoolean();
+        emitter.onCompletion(() -> clientGone.set(true));
+        emitter.onTimeout(() -> clientGone.set(true));
+        emitter.onError(e -> clientGone.set(true));
+
+        generationExecutor.execute(() -> {
+            try (GenerationTrace trace = GenerationTrace.start("generation.stream", null)) {
+                CampaignResponse saved = campaignService.generateCampaignStreaming(request, email, userId, forceFresh,
+                        delta -> sendQuietly(emitter, clientGone, "delta", delta));
+                sendQuietly(emitter, clientGone, "result", saved);
+            } catch (Exception e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                log.error("Streaming generation for {} failed: {}", email, cause.getMessage());
+                sendQuietly(emitter, clientGone, "error", Map.of("error", String.valueOf(cause.getMessage())));
+            }
+            emitter.complete();
+        });
+        return emitter;
+    }
+
+    private void sendQuietly(SseEmitter emitter, AtomicBoolean clientGone, String event, Object data) {
+        if (clientGone.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // keep generating so the result is still saved; just stop writing to this client
+            log.debug("SSE client went away during streaming generation: {}", e.getMessage());
+            clientGone.set(true);
+        }
+    }
+
+    private void run(GenerationJob job, CampaignRequest request, boolean forceFresh) {
+        job.markRunning();
+        try (GenerationTrace trace = GenerationTrace.start("generation.job", null)) {
+            job.complete(campaignService.generateCampaign(request, job.getOwnerEmail(), job.getOwnerId(), forceFresh, true));
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.error("Generation job {} failed: {}", job.getId(), cause.getMessage());
+            job.fail(cause);
+        }
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minusMillis(retentionMs);
+        jobs.values().removeIf(job -> job.isDone() && job.getCompletedAt() != null
+                && job.getCompletedAt().isBefore(cutoff));
+    }
+}
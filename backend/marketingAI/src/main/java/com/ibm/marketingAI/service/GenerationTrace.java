@@ -0,0 +1,151 @@
+package com.ibm.marketingAI.service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.MDC;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stage timings for one campaign generation, bound to the thread that runs it.
+ * The trace id uses the W3C {@code traceparent} format, so a caller's trace is
+ * continued and the id is passed on to the Node service, which reports its own
+ * stages back in a {@code Server-Timing} header. Closing the trace logs the
+ * breakdown as one key=value line. When no trace is open, {@link #stage} just
+ * runs the work.
+ */
+@Slf4j
+public final class GenerationTrace implements AutoCloseable {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final ThreadLocal<GenerationTrace> CURRENT = new ThreadLocal<>();
+    private static final Pattern TRACEPARENT = Pattern.compile("00-([0-9a-f]{32})-[0-9a-f]{16}-[0-9a-f]{2}");
+    private static final Pattern SERVER_TIMING_ENTRY = Pattern.compile("([\\w.-]+)[^,]*?;\\s*dur=([0-9.]+)");
+
+    private final String name;
+    private final String traceId;
+    private final long startNanos = System.nanoTime();
+    private final GenerationTrace previous;
+    private final Map<String, Double> stagesMs = new LinkedHashMap<>();
+    private long endNanos;
+
+    private GenerationTrace(String name, String traceId) {
+        this.name = name;
+        this.traceId = traceId;
+        this.previous = CURRENT.get();
+    }
+
+    /**
+     * Opens a trace on the current thread, continuing {@code traceparent} when
+     * it is a valid W3C header and starting a new trace id otherwise.
+     */
+    public static GenerationTrace start(String name, String traceparent) {
+        Matcher incoming = traceparent == null ? null : TRACEPARENT.matcher(traceparent.trim());
+        String traceId = incoming != null && incoming.matches() ? incoming.group(1) : randomHex(16);
+        GenerationTrace trace = new GenerationTrace(name, traceId);
+        CURRENT.set(trace);
+        MDC.put("traceId", traceId);
+        return trace;
+    }
+
+    /** The trace open on this thread, or null. */
+    public static GenerationTrace current() {
+        return CURRENT.get();
+    }
+
+    /** Runs {@code work} and adds its duration to the current trace, if any. */
+    public static <T> T stage(String stage, Supplier<T> work) {
+        GenerationTrace trace = CURRENT.get();
+        if (trace == null) {
+            return work.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            trace.record(stage, (System.nanoTime() - start) / 1e6);
+        }
+    }
+
+    // repeated stages add up, e.g. two persists in one request
+    public synchronized void record(String stage, double ms) {
+        stagesMs.merge(stage, ms, Double::sum);
+    }
+
+    /** Adds the entries of a downstream {@code Server-Timing} header as {@code prefix + name}. */
+    public void recordServerTiming(String prefix, String header) {
+        if (header == null) {
+            return;
+        }
+        Matcher entry = SERVER_TIMING_ENTRY.matcher(header);
+        while (entry.find()) {
+            record(prefix + entry.group(1), Double.parseDouble(entry.group(2)));
+        }
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /** Header for an outgoing call: this trace id with a fresh span id for the callee's parent. */
+    public String traceparent() {
+        return "00-" + traceId + "-" + randomHex(8) + "-01";
+    }
+
+    public double totalMs() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1e6;
+    }
+
+    /** The breakdown as a {@code Server-Timing} header value, ending with the total. */
+    public synchronized String serverTiming() {
+        StringBuilder header = new StringBuilder();
+        stagesMs.forEach((stage, ms) -> header.append(stage).append(";dur=").append(format(ms)).append(", "));
+        return header.append("total;dur=").append(format(totalMs())).toString();
+    }
+
+    @Override
+    public void close() {
+        if (endNanos == 0) {
+            endNanos = System.nanoTime();
+        }
+        String stages;
+        synchronized (this) {
+            stages = stagesMs.entrySet().stream()
+                    .map(e -> e.getKey() + "_ms=" + format(e.getValue()))
+                    .collect(Collectors.joining(" "));
+        }
+        log.info("trace={} traceId={} total_ms={} {}", name, traceId, format(totalMs()), stages);
+
+        if (previous == null) {
+            CURRENT.remove();
+            MDC.remove("traceId");
+        } else {
+            CURRENT.set(previous);
+            MDC.put("traceId", previous.traceId);
+        }
+    }
+
+    private static String format(double ms) {
+        return String.format(Locale.ROOT, "%.1f", ms);
+    }
+
+    private static String randomHex(int bytes) {
+        StringBuilder hex = new StringBuilder(bytes * 2);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < bytes; i++) {
+            hex.append(String.format("%02x", random.nextInt(256)));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ibm.marketingAI.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.ibm.marketingAI.model.CampaignResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single-flight guard for Granite calls. The first caller for a key runs the
+ * upstream call on its own thread; identical callers that arrive while it is
+ * outstanding wait for and share that result instead of starting their own.
+ */
+@Component
+@Slf4j
+public class GraniteCallCoalescer {
+
+    private final Map<String, CompletableFuture<CampaignResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public GraniteCallCoalescer(MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("granite.calls.coalesced")
+                .description("Granite calls served by joining an identical in-flight call")
+                .register(meterRegistry);
+    }
+
+    public CampaignResponse call(String key, Supplier<CampaignResponse> upstream) {
+        CompletableFuture<CampaignResponse> mine = new CompletableFuture<>();
+        CompletableFuture<CampaignResponse> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            log.debug("joining in-flight Granite call for {}", key);
+            return await(existing);
+        }
+
+        try {
+            CampaignResponse response = upstream.get();
+            mine.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // Errors too (OOM, stack overflow, sneaky checked exceptions): an
+            // uncompleted future would leave every follower blocked in join()
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private CampaignResponse await(CompletableFuture<CampaignResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
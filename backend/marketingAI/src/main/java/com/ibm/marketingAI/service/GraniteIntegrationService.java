@@ -1,34 +1,95 @@
 package com.ibm.marketingAI.service;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibm.marketingAI.dto.CampaignRequest;
+import com.ibm.marketingAI.dto.GraniteDelta;
 import com.ibm.marketingAI.model.CampaignResponse;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.annotation.Timed;
+
 
 
 @Service
 public class GraniteIntegrationService {
 
     private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    // the bulkhead's slots, taken with a wait that depends on the caller: the
+    // bulkhead itself only knows one max wait, so it never has to wait or reject
+    private final Semaphore slots;
+    // same defaults as the RestTemplate converters (unknown fields such as rawResponse are ignored)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
 
     @Value("${nodejs.url}")
     private String url;
 
-    public GraniteIntegrationService(RestTemplate restTemplate) {
+    @Value("${nodejs.stream-url:${nodejs.url}/stream}")
+    private String streamUrl;
+
+    @Value("${granite.bulkhead.queue-timeout-ms:120000}")
+    private long queueTimeoutMs = 120_000;
+
+    public GraniteIntegrationService(@Qualifier("graniteRestTemplate") RestTemplate restTemplate,
+                                     CircuitBreaker graniteCircuitBreaker,
+                                     Bulkhead graniteBulkhead) {
         this.restTemplate = restTemplate;
+        this.circuitBreaker = graniteCircuitBreaker;
+        this.bulkhead = graniteBulkhead;
+        this.slots = new Semaphore(graniteBulkhead.getBulkheadConfig().getMaxConcurrentCalls(), true);
     }
 
+    @Timed(value = "granite.generation", extraTags = {"mode", "blocking"}, histogram = true)
     public CampaignResponse callGranite(CampaignRequest input) {
-       
+        return callGranite(input, false);
+    }
+
+    /**
+     * Blocking generation. With {@code waitForSlot} the caller waits up to
+     * {@code granite.bulkhead.queue-timeout-ms} for a bulkhead slot instead of
+     * the bulkhead's short max wait; that is for jobs already accepted onto the
+     * generation executor, which have no client thread to give back and should
+     * queue rather than fail, but not forever while the upstream stays slow.
+     */
+    @Timed(value = "granite.generation", extraTags = {"mode", "blocking"}, histogram = true)
+    public CampaignResponse callGranite(CampaignRequest input, boolean waitForSlot) {
+        return guarded(() -> post(input), waitForSlot);
+    }
+
+    private CampaignResponse post(CampaignRequest input) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
+        GenerationTrace trace = GenerationTrace.current();
+        if (trace != null) {
+            headers.set(GenerationTrace.TRACEPARENT_HEADER, trace.traceparent());
+        }
 
         HttpEntity<CampaignRequest> request = new HttpEntity<>(input, headers);
 
@@ -38,6 +99,95 @@ public class GraniteIntegrationService {
             CampaignResponse.class
         );
 
+        // Node reports its own stages (prompt, openrouter, parse, metrics)
+        if (trace != null) {
+            trace.recordServerTiming("node.", response.getHeaders().getFirst(GenerationTrace.SERVER_TIMING_HEADER));
+        }
         return response.getBody();
     }
+
+    /**
+     * Same generation as {@link #callGranite}, read from the Node service's SSE
+     * endpoint: each text delta goes to {@code onDelta} as it arrives and the
+     * parsed final result is returned once the stream ends. Streams only run on
+     * the generation executor, so they always wait for a slot like queued calls.
+     */
+    @Timed(value = "granite.generation", extraTags = {"mode", "stream"}, histogram = true)
+    public CampaignResponse streamGranite(CampaignRequest input, Consumer<GraniteDelta> onDelta) {
+        return guarded(() -> stream(input, onDelta), true);
+    }
+
+    // the bulkhead is outermost: a rejected call never reaches the breaker's
+    // statistics, and time spent waiting for a slot does not count as a slow call
+    private CampaignResponse guarded(Supplier<CampaignResponse> call, boolean waitForSlot) {
+        Duration maxWait = waitForSlot ? Duration.ofMillis(queueTimeoutMs) : bulkhead.getBulkheadConfig().getMaxWaitDuration();
+        acquireSlot(maxWait);
+        try {
+            return bulkhead.executeSupplier(() -> circuitBreaker.executeSupplier(call));
+        } catch (CallNotPermittedException e) {
+            throw new GraniteUnavailableException("Campaign generation is temporarily unavailable, try again shortly",
+                    circuitBreaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1), e);
+        } catch (BulkheadFullException e) {
+            throw slotsExhausted(e);
+        } finally {
+            slots.release();
+        }
+    }
+
+    // one wait on a fair semaphore, so callers take slots in arrival order
+    private void acquireSlot(Duration maxWait) {
+        try {
+            if (slots.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw slotsExhausted(null);
+    }
+
+    private GraniteUnavailableException slotsExhausted(Throwable cause) {
+        return new GraniteUnavailableException("Too many campaign generations in progress, try again shortly",
+                bulkhead.getBulkheadConfig().getMaxWaitDuration().toMillis() + 1000, cause);
+    }
+
+    private CampaignResponse stream(CampaignRequest input, Consumer<GraniteDelta> onDelta) {
+        GenerationTrace trace = GenerationTrace.current();
+        return restTemplate.execute(streamUrl, HttpMethod.POST,
+            request -> {
+                request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                if (trace != null) {
+                    request.getHeaders().set(GenerationTrace.TRACEPARENT_HEADER, trace.traceparent());
+                }
+                objectMapper.writeValue(request.getBody(), input);
+            },
+            response -> readEvents(response.getBody(), onDelta));
+    }
+
+    private CampaignResponse readEvents(InputStream body, Consumer<GraniteDelta> onDelta) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String event = "message";
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith("event:")) {
+                event = line.substring(6).trim();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring(5).trim());
+            } else if (line.isEmpty() && data.length() > 0) {
+                switch (event) {
+                    case "delta" -> onDelta.accept(objectMapper.readValue(data.toString(), GraniteDelta.class));
+                    case "result" -> {
+                        return objectMapper.readValue(data.toString(), CampaignResponse.class);
+                    }
+                    case "error" -> throw new IllegalStateException("Granite stream failed: " + data);
+                    default -> { }
+                }
+                event = "message";
+                data.setLength(0);
+            }
+        }
+        throw new IllegalStateException("Granite stream ended without a result");
+    }
 }
@@ -0,0 +1,19 @@
+package com.ibm.marketingAI.service;
+
+/**
+ * Thrown instead of calling Granite when its circuit breaker is open or its
+ * bulkhead has no free slot.
+ */
+public class GraniteUnavailableException extends RuntimeException {
+
+    private final long retryAfterMs;
+
+    public GraniteUnavailableException(String message, long retryAfterMs, Throwable cause) {
+        super(message, cause);
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
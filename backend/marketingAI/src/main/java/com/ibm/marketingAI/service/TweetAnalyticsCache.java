@@ -0,0 +1,109 @@
+package com.ibm.marketingAI.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.ibm.marketingAI.dto.TwitterAnalyticsDTO;
+import com.ibm.marketingAI.repo.VersionRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-tweet analytics, fetched from Twitter at most once per TTL however often
+ * dashboards ask. Tweets read within {@code refreshAheadMs} of going stale are
+ * refetched in the background while callers keep the current value; if that
+ * refetch fails the old value is served, marked with {@code staleSince}, for
+ * up to {@code maxStaleMs} more.
+ *
+ * <p>Only tweets tracked in {@code version.twitter_id} are looked up on
+ * Twitter. Untracked ids, and tracked ones Twitter does not know, are cached as
+ * misses for {@code negativeTtlMs}, so repeated views of them cost neither
+ * Twitter quota nor a database query each time.
+ */
+@Component
+public class TweetAnalyticsCache {
+
+    private final LoadingCache<String, Snapshot> cache;
+    private final Ticker ticker;
+    private final long ttlNanos;
+
+    @Autowired
+    public TweetAnalyticsCache(TwitterMetricsClient twitterMetricsClient, VersionRepo versionRepo,
+                               @Value("${twitter.analytics.ttl-ms:900000}") long ttlMs,
+                               @Value("${twitter.analytics.refresh-ahead-ms:120000}") long refreshAheadMs,
+                               @Value("${twitter.analytics.max-stale-ms:3600000}") long maxStaleMs,
+                               @Value("${twitter.analytics.negative-ttl-ms:60000}") long negativeTtlMs,
+                               @Value("${twitter.analytics.max-entries:10000}") long maxEntries,
+                               MeterRegistry meterRegistry) {
+        this(tweetId -> versionRepo.isTracked(tweetId) ? twitterMetricsClient.fetchTweetAnalytics(tweetId) : null,
+                ttlMs, refreshAheadMs, maxStaleMs, negativeTtlMs, maxEntries,
+                Ticker.systemTicker(), ForkJoinPool.commonPool());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "twitter.analytics");
+    }
+
+    TweetAnalyticsCache(Function<String, TwitterAnalyticsDTO> upstream, long ttlMs, long refreshAheadMs,
+                        long maxStaleMs, long negativeTtlMs, long maxEntries, Ticker ticker, Executor refreshExecutor) {
+        this.ticker = ticker;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        Duration hitLifetime = Duration.ofMillis(ttlMs + maxStaleMs);
+        Duration missLifetime = Duration.ofMillis(negativeTtlMs);
+        this.cache = Caffeine.newBuilder()
+                .refreshAfterWrite(Duration.ofMillis(Math.max(1, ttlMs - refreshAheadMs)))
+                // Caffeine does not cache null, so a miss is stored as an empty snapshot that expires sooner
+                .expireAfter(Expiry.writing((String tweetId, Snapshot snapshot) ->
+                        snapshot.metrics() == null ? missLifetime : hitLifetime))
+                .maximumSize(maxEntries)
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(tweetId -> new Snapshot(upstream.apply(tweetId), Instant.now(), ticker.read()));
+    }
+
+    /**
+     * Returns the latest known metrics for the tweet, or null if it is not
+     * tracked or Twitter does not know it. Only the first read of a tweet (or
+     * one after {@code maxStaleMs} without a successful refresh) waits on Twitter.
+     */
+    public TwitterAnalyticsDTO get(String tweetId) {
+        Snapshot snapshot = cache.get(tweetId);
+        if (snapshot.metrics() == null) {
+            return null;
+        }
+
+        TwitterAnalyticsDTO served = new TwitterAnalyticsDTO();
+        served.setId(snapshot.metrics().getId());
+        served.setText(snapshot.metrics().getText());
+        served.setPublic_metrics(snapshot.metrics().getPublic_metrics());
+        served.setFetchedAt(snapshot.fetchedAt());
+        if (ticker.read() - snapshot.loadedAtNanos() >= ttlNanos) {
+            served.setStaleSince(snapshot.fetchedAt().plusNanos(ttlNanos));
+        }
+        return served;
+    }
+
+    /** Stores metrics fetched elsewhere (e.g. by the scheduled collector) as a fresh entry. */
+    public void put(String tweetId, TwitterAnalyticsDTO metrics) {
+        cache.put(tweetId, new Snapshot(metrics, Instant.now(), ticker.read()));
+    }
+
+    /** Drops the entry, e.g. a cached miss for a tweet that has just been linked to a version. */
+    public void invalidate(String tweetId) {
+        cache.invalidate(tweetId);
+    }
+
+    private record Snapshot(TwitterAnalyticsDTO metrics, Instant fetchedAt, long loadedAtNanos) {
+    }
+}
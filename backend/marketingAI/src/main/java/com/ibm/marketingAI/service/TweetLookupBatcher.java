@@ -0,0 +1,93 @@
+package com.ibm.marketingAI.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.ibm.marketingAI.dto.TwitterAnalyticsDTO;
+
+/**
+ * Collects tweet ids requested within a short window and looks them up in one
+ * call. A batch is sent when the window closes or when it reaches
+ * {@code maxBatchSize} ids, whichever comes first; callers asking for the same
+ * id in one window share its result.
+ */
+class TweetLookupBatcher implements AutoCloseable {
+
+    private final Function<List<String>, Map<String, TwitterAnalyticsDTO>> lookup;
+    private final int maxBatchSize;
+    private final long windowMs;
+    private final ScheduledExecutorService windowTimer = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().daemon().name("tweet-lookup-window").unstarted(runnable));
+    // lookups block on HTTP; each batch gets its own virtual thread so windows never wait on each other
+    private final ExecutorService lookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Map<String, CompletableFuture<TwitterAnalyticsDTO>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> windowClose;
+
+    TweetLookupBatcher(Function<List<String>, Map<String, TwitterAnalyticsDTO>> lookup, int maxBatchSize, long windowMs) {
+        this.lookup = lookup;
+        this.maxBatchSize = maxBatchSize;
+        this.windowMs = windowMs;
+    }
+
+    /** Completes with the tweet's metrics, or null if the lookup did not return it. */
+    CompletableFuture<TwitterAnalyticsDTO> submit(String tweetId) {
+        CompletableFuture<TwitterAnalyticsDTO> result;
+        Map<String, CompletableFuture<TwitterAnalyticsDTO>> full = null;
+        synchronized (this) {
+            result = pending.computeIfAbsent(tweetId, id -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                full = drain();
+            } else if (windowClose == null) {
+                windowClose = windowTimer.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return result;
+    }
+
+    private void flush() {
+        Map<String, CompletableFuture<TwitterAnalyticsDTO>> batch = drain();
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private synchronized Map<String, CompletableFuture<TwitterAnalyticsDTO>> drain() {
+        Map<String, CompletableFuture<TwitterAnalyticsDTO>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (windowClose != null) {
+            windowClose.cancel(false);
+            windowClose = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<String, CompletableFuture<TwitterAnalyticsDTO>> batch) {
+        lookupExecutor.execute(() -> {
+            try {
+                Map<String, TwitterAnalyticsDTO> found = lookup.apply(List.copyOf(batch.keySet()));
+                batch.forEach((id, result) -> result.complete(found.get(id)));
+            } catch (RuntimeException e) {
+                batch.values().forEach(result -> result.completeExceptionally(e));
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        windowTimer.shutdownNow();
+        flush();
+        lookupExecutor.close();
+    }
+}
@@ -0,0 +1,72 @@
+package com.ibm.marketingAI.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ibm.marketingAI.dto.TrackedTweet;
+import com.ibm.marketingAI.dto.TwitterAnalyticsDTO;
+import com.ibm.marketingAI.model.TweetMetricSnapshot;
+import com.ibm.marketingAI.repo.TweetMetricSnapshotRepo;
+import com.ibm.marketingAI.repo.VersionRepo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Snapshots the public metrics of every posted version on a fixed schedule.
+ * Each run costs one lookup per 100 tweets; the fetched values also refresh
+ * {@link TweetAnalyticsCache}, so dashboards rarely reach Twitter themselves,
+ * and feed the campaigns' A/B summaries.
+ */
+@Component
+@Slf4j
+public class TweetMetricsCollector {
+
+    @Autowired
+    private VersionRepo versionRepo;
+
+    @Autowired
+    private TweetMetricSnapshotRepo snapshotRepo;
+
+    @Autowired
+    private TwitterMetricsClient twitterMetricsClient;
+
+    @Autowired
+    private TweetAnalyticsCache tweetAnalyticsCache;
+
+    @Autowired
+    private AbSummaryService abSummaryService;
+
+    @Scheduled(initialDelayString = "${twitter.metrics.initial-delay-ms:60000}",
+               fixedDelayString = "${twitter.metrics.collect-interval-ms:900000}")
+    public void collect() {
+        List<TrackedTweet> tracked = versionRepo.findTrackedTweets();
+        if (tracked.isEmpty()) {
+            return;
+        }
+
+        Map<String, TwitterAnalyticsDTO> metrics = twitterMetricsClient.fetchAll(
+                tracked.stream().map(TrackedTweet::getTwitterId).distinct().toList());
+
+        Instant capturedAt = Instant.now();
+        List<TweetMetricSnapshot> snapshots = new ArrayList<>();
+        for (TrackedTweet tweet : tracked) {
+            TwitterAnalyticsDTO analytics = metrics.get(tweet.getTwitterId());
+            if (analytics == null || analytics.getPublic_metrics() == null) {
+                continue;
+            }
+            TwitterAnalyticsDTO.PublicMetrics m = analytics.getPublic_metrics();
+            snapshots.add(new TweetMetricSnapshot(null, tweet.getVersionId(), capturedAt,
+                    m.getLike_count(), m.getRetweet_count(), m.getReply_count(), m.getQuote_count(), m.getImpression_count()));
+            tweetAnalyticsCache.put(tweet.getTwitterId(), analytics);
+        }
+        snapshotRepo.saveAll(snapshots);
+        abSummaryService.onSnapshots(snapshots);
+        log.info("Captured metrics for {} of {} tracked tweets", snapshots.size(), tracked.size());
+    }
+}
@@ -0,0 +1,130 @@
+package com.ibm.marketingAI.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.ibm.marketingAI.dto.TwitterAnalyticsDTO;
+import com.ibm.marketingAI.dto.TwitterLookupDTO;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Direct calls to the Twitter API. Callers should go through
+ * {@link TweetAnalyticsCache} rather than hit this on every request.
+ *
+ * <p>Single-tweet requests are batched into the multi-ID lookup
+ * ({@code GET /2/tweets?ids=...}, up to 100 ids), so a burst of refreshes
+ * costs one request instead of one per tweet. Each lookup uses the bearer
+ * token with the most quota left, see {@link BearerTokenPool}.
+ */
+@Service
+@Slf4j
+public class TwitterMetricsClient {
+
+    // hard limit of the multi-ID lookup
+    private static final int MAX_IDS_PER_LOOKUP = 100;
+
+    private final RestTemplate restTemplate;
+    private final String apiUrl;
+    private final BearerTokenPool tokenPool;
+    private final TweetLookupBatcher batcher;
+
+    public TwitterMetricsClient(RestTemplate restTemplate,
+                                @Value("${twitter.api.url:https://api.twitter.com}") String apiUrl,
+                                BearerTokenPool tokenPool,
+                                @Value("${twitter.lookup.max-batch-size:100}") int maxBatchSize,
+                                @Value("${twitter.lookup.batch-window-ms:50}") long batchWindowMs) {
+        this.restTemplate = restTemplate;
+        this.apiUrl = apiUrl;
+        this.tokenPool = tokenPool;
+        this.batcher = new TweetLookupBatcher(this::lookup, Math.min(maxBatchSize, MAX_IDS_PER_LOOKUP), batchWindowMs);
+    }
+
+    public TwitterAnalyticsDTO fetchTweetAnalytics(String tweetId) {
+        try {
+            return batcher.submit(tweetId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Looks up many tweets directly, 100 per request. If the token pool runs
+     * dry part way through, returns what was fetched so far.
+     */
+    public Map<String, TwitterAnalyticsDTO> fetchAll(List<String> tweetIds) {
+        Map<String, TwitterAnalyticsDTO> found = new HashMap<>();
+        for (int from = 0; from < tweetIds.size(); from += MAX_IDS_PER_LOOKUP) {
+            try {
+                found.putAll(lookup(tweetIds.subList(from, Math.min(from + MAX_IDS_PER_LOOKUP, tweetIds.size()))));
+            } catch (TwitterRateLimitedException e) {
+                log.warn("Stopped after {} of {} tweets: {}", from, tweetIds.size(), e.getMessage());
+                break;
+            }
+        }
+        return found;
+    }
+
+    Map<String, TwitterAnalyticsDTO> lookup(List<String> tweetIds) {
+        // ids go in as a URI variable so http.client.requests is tagged with the template, not every id list
+        String url = apiUrl + "/2/tweets?ids={ids}&tweet.fields=public_metrics";
+        String ids = String.join(",", tweetIds);
+        log.info("looking up {} tweets", tweetIds.size());
+
+        // a 429 only spends that token; retry on the next one until the pool itself sheds the call
+        ResponseEntity<TwitterLookupDTO> response = null;
+        for (int attempt = 0; response == null && attempt < tokenPool.size(); attempt++) {
+            BearerTokenPool.Lease lease = tokenPool.acquire();
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(lease.token());
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            try {
+                response = restTemplate.exchange(
+                        url,
+                        HttpMethod.GET,
+                        new HttpEntity<Void>(headers),
+                        TwitterLookupDTO.class,
+                        ids
+                );
+                tokenPool.release(lease, response.getHeaders(), false);
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                tokenPool.release(lease, e.getResponseHeaders(), true);
+            } catch (RuntimeException e) {
+                tokenPool.release(lease, null, false);
+                throw e;
+            }
+        }
+        if (response == null) {
+            throw new TwitterRateLimitedException(tokenPool.msUntilNextReset());
+        }
+
+        List<TwitterAnalyticsDTO> found = response.getBody() == null ? null : response.getBody().getData();
+        if (found == null) {
+            return Map.of();
+        }
+        return found.stream().collect(Collectors.toMap(TwitterAnalyticsDTO::getId, Function.identity(), (a, b) -> a));
+    }
+
+    @PreDestroy
+    public void close() {
+        batcher.close();
+    }
+}
@@ -0,0 +1,19 @@
+package com.ibm.marketingAI.service;
+
+/**
+ * Thrown when every configured bearer token is out of quota and none resets
+ * within the allowed wait.
+ */
+public class TwitterRateLimitedException extends RuntimeException {
+
+    private final long retryAfterMs;
+
+    public TwitterRateLimitedException(long retryAfterMs) {
+        super("All Twitter bearer tokens are rate limited; retry in " + retryAfterMs + " ms");
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
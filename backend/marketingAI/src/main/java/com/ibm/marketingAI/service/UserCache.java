@@ -0,0 +1,73 @@
+package com.ibm.marketingAI.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ibm.marketingAI.dto.CachedUser;
+import com.ibm.marketingAI.model.AppUser;
+import com.ibm.marketingAI.repo.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Users by email, shared by login, the user details service and every
+ * dashboard call that resolves the caller. Entries are detached snapshots, so
+ * callers that need the entity for a relation take {@link #reference} instead
+ * of loading the row. Anything that writes a user must {@link #invalidate} it;
+ * the TTL only bounds staleness from writes made by other instances.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, CachedUser> cache;
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${users.cache.max-entries:10000}") long maxEntries,
+                     @Value("${users.cache.ttl-ms:600000}") long ttlMs,
+                     MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    /** The user with this email; unknown emails are looked up again each time. */
+    public Optional<CachedUser> find(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(email,
+                key -> userRepository.findByEmail(key).map(CachedUser::of).orElse(null)));
+    }
+
+    /**
+     * An uninitialized AppUser proxy for this email, usable as the owner of a
+     * new entity or as a query parameter without reading the user row.
+     */
+    public AppUser reference(String email) {
+        CachedUser user = find(email).orElseThrow(() -> new RuntimeException("User not found"));
+        return userRepository.getReferenceById(user.getId());
+    }
+
+    /**
+     * Same as {@link #reference(String)}, but when the caller's token carries
+     * the user id the proxy is built from it without consulting the cache.
+     */
+    public AppUser reference(String email, Long userId) {
+        return userId != null ? userRepository.getReferenceById(userId) : reference(email);
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ibm.marketingAI.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAspectsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.ibm.marketingAI.dto.CampaignRequest;
+import com.ibm.marketingAI.service.GraniteIntegrationService;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+class TimedMetricsTest {
+
+    // the same switches as application.properties, on a context with only the metrics auto-configuration
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(AopAutoConfiguration.class, MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+                    MetricsAspectsAutoConfiguration.class))
+            .withPropertyValues("management.observations.annotations.enabled=true",
+                    "nodejs.url=http://127.0.0.1:1/api/dashboard/post")
+            .withBean(GraniteIntegrationService.class, () -> new GraniteIntegrationService(new RestTemplate(),
+                    CircuitBreaker.ofDefaults("granite"), Bulkhead.ofDefaults("granite")));
+
+    @Test
+    void timedServiceMethodsRecordLatencyWithTheirOutcome() {
+        runner.run(context -> {
+            GraniteIntegrationService granite = context.getBean(GraniteIntegrationService.class);
+            assertThrows(ResourceAccessException.class, () -> granite.callGranite(new CampaignRequest()));
+
+            Timer timer = context.getBean(MeterRegistry.class).get("granite.generation")
+                    .tag("mode", "blocking")
+                    .tag("exception", "ResourceAccessException")
+                    .timer();
+            assertEquals(1, timer.count());
+        });
+    }
+}
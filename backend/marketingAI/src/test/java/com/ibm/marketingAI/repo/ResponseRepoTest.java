@@ -0,0 +1,133 @@
+package com.ibm.marketingAI.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ibm.marketingAI.dto.CampaignRow;
+import com.ibm.marketingAI.model.AppUser;
+import com.ibm.marketingAI.model.CampaignResponse;
+import com.ibm.marketingAI.model.Metrics;
+import com.ibm.marketingAI.model.Version;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ResponseRepoTest {
+
+    private static final int CAMPAIGNS = 25;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ResponseRepo responseRepo;
+
+    @Test
+    void historyLoadsCampaignsAndBothVersionsInOneStatement() {
+        AppUser owner = ownerWithCampaigns();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CampaignRow> campaigns = responseRepo.findRows(owner);
+
+        assertEquals(CAMPAIGNS, campaigns.size());
+        assertEquals("content for A0", campaigns.get(0).getVersionAContent());
+        assertEquals("content for B0", campaigns.get(0).getVersionBContent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void summaryPagesWalkBackwardsFromTheCursor() {
+        AppUser owner = ownerWithCampaigns();
+
+        List<CampaignRow> first = responseRepo.findSummaries(owner, Long.MAX_VALUE, PageRequest.of(0, 10));
+        List<CampaignRow> second = responseRepo.findSummaries(owner, first.get(9).getId(), PageRequest.of(0, 10));
+
+        assertEquals(10, first.size());
+        assertEquals("brand-" + (CAMPAIGNS - 1), first.get(0).getBrandName());
+        assertEquals("A" + (CAMPAIGNS - 1), first.get(0).getVersionATitle());
+        assertNull(first.get(0).getVersionAContent());
+        assertEquals(first.get(9).getId() - 1, second.get(0).getId());
+    }
+
+    @Test
+    void savingCampaignsBatchesTheInsertsAndPoolsIds() {
+        AppUser owner = new AppUser();
+        owner.setEmail("owner@example.com");
+        entityManager.persistAndFlush(owner);
+
+        List<CampaignResponse> campaigns = new ArrayList<>();
+        for (int i = 0; i < CAMPAIGNS; i++) {
+            CampaignResponse campaign = new CampaignResponse();
+            campaign.setVersionA(version("A" + i));
+            campaign.setVersionB(version("B" + i));
+            campaign.setOwner(owner);
+            campaigns.add(campaign);
+        }
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        responseRepo.saveAll(campaigns);
+        entityManager.flush();
+
+        // 75 rows: a few sequence calls plus one batched insert per table, not a statement per row
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void versionOwnershipFollowsTheCampaignOwner() {
+        AppUser owner = ownerWithCampaigns();
+        AppUser other = new AppUser();
+        other.setEmail("other@example.com");
+        entityManager.persistAndFlush(other);
+        CampaignRow campaign = responseRepo.findRows(owner).get(0);
+
+        assertTrue(responseRepo.ownsVersion(owner, campaign.getVersionAId()));
+        assertTrue(responseRepo.ownsVersion(owner, campaign.getVersionBId()));
+        assertFalse(responseRepo.ownsVersion(other, campaign.getVersionAId()));
+        assertFalse(responseRepo.ownsVersion(owner, -1L));
+    }
+
+    private AppUser ownerWithCampaigns() {
+        AppUser owner = new AppUser();
+        owner.setEmail("owner@example.com");
+        entityManager.persist(owner);
+        for (int i = 0; i < CAMPAIGNS; i++) {
+            CampaignResponse campaign = new CampaignResponse();
+            campaign.setBrandName("brand-" + i);
+            campaign.setVersionA(version("A" + i));
+            campaign.setVersionB(version("B" + i));
+            campaign.setOwner(owner);
+            entityManager.persist(campaign);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return owner;
+    }
+
+    private Version version(String title) {
+        Version version = new Version();
+        version.setTitle(title);
+        version.setContent("content for " + title);
+        version.setMetrics(new Metrics(10, 5, 1));
+        return version;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ibm.marketingAI.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ibm.marketingAI.dto.MetricBucket;
+import com.ibm.marketingAI.model.TweetMetricSnapshot;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class TweetMetricSnapshotRepoTest {
+
+    private static final Instant DAY = Instant.parse("2026-03-01T00:00:00Z");
+
+    @Autowired
+    private TweetMetricSnapshotRepo snapshotRepo;
+
+    @Test
+    void bucketsKeepTheLatestCountersPerHourAndDay() {
+        snapshot(1L, "2026-03-01T10:05:00Z", 3);
+        snapshot(1L, "2026-03-01T10:50:00Z", 7);
+        snapshot(1L, "2026-03-01T11:10:00Z", 9);
+        snapshot(1L, "2026-03-02T09:00:00Z", 20);
+        snapshot(2L, "2026-03-01T10:30:00Z", 500);
+
+        List<MetricBucket> hourly = snapshotRepo.findHourly(1L, DAY, DAY.plusSeconds(86_400));
+        assertEquals(2, hourly.size());
+        assertEquals(Instant.parse("2026-03-01T10:00:00Z"), hourly.get(0).getBucket().toInstant());
+        assertEquals(7, hourly.get(0).getLikes());
+        assertEquals(9, hourly.get(1).getLikes());
+
+        List<MetricBucket> daily = snapshotRepo.findDaily(1L, DAY, DAY.plusSeconds(3 * 86_400));
+        assertEquals(2, daily.size());
+        assertEquals(9, daily.get(0).getLikes());
+        assertEquals(Instant.parse("2026-03-02T00:00:00Z"), daily.get(1).getBucket().toInstant());
+        assertEquals(20, daily.get(1).getLikes());
+    }
+
+    private void snapshot(Long versionId, String capturedAt, int likes) {
+        snapshotRepo.save(new TweetMetricSnapshot(null, versionId, Instant.parse(capturedAt), likes, 0, 0, 0, 0));
+    }
+}
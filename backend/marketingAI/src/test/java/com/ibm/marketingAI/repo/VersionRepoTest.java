@@ -0,0 +1,60 @@
+package com.ibm.marketingAI.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ibm.marketingAI.model.Metrics;
+import com.ibm.marketingAI.model.Version;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class VersionRepoTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private VersionRepo versionRepo;
+
+    @Test
+    void loadingAVersionLeavesContentUnfetchedUntilRead() {
+        Long id = persistVersion();
+
+        Version version = versionRepo.findById(id).orElseThrow();
+
+        assertEquals("Variation A", version.getTitle());
+        assertFalse(Hibernate.isPropertyInitialized(version, "content"));
+        assertEquals("a long body", version.getContent());
+        assertTrue(Hibernate.isPropertyInitialized(version, "content"));
+    }
+
+    @Test
+    void twitterPostIsSavedWithoutLoadingTheVersion() {
+        Long id = persistVersion();
+
+        assertEquals(1, versionRepo.updateTwitterPost(id, "1234", "https://x.com/i/1234"));
+        assertEquals(0, versionRepo.updateTwitterPost(id + 1000, "1", "l"));
+        assertEquals("1234", versionRepo.getTwitterId(id));
+        assertTrue(versionRepo.isTracked("1234"));
+        assertFalse(versionRepo.isTracked("9999"));
+    }
+
+    private Long persistVersion() {
+        Version version = new Version();
+        version.setTitle("Variation A");
+        version.setContent("a long body");
+        version.setMetrics(new Metrics(10, 5, 1));
+        Long id = entityManager.persistAndGetId(version, Long.class);
+        entityManager.flush();
+        entityManager.clear();
+        return id;
+    }
+}
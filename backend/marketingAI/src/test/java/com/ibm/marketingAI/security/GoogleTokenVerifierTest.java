@@ -0,0 +1,176 @@
+package com.ibm.marketingAI.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.json.webtoken.JsonWebSignature;
+import com.sun.net.httpserver.HttpServer;
+
+class GoogleTokenVerifierTest {
+
+    private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+
+    private final JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
+    private final AtomicInteger jwksFetches = new AtomicInteger();
+    // the key source's clock; token expiry is still checked against the real time
+    private final AtomicLong clockMs = new AtomicLong(System.currentTimeMillis());
+
+    private HttpServer jwksServer;
+    private NetHttpTransport transport;
+    private KeyPair signingKeys;
+    private volatile String jwks;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        signingKeys = newKeyPair();
+        jwks = jwksOf((RSAPublicKey) signingKeys.getPublic());
+
+        jwksServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        jwksServer.createContext("/certs", exchange -> {
+            jwksFetches.incrementAndGet();
+            byte[] body = jwks.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        jwksServer.start();
+        transport = new NetHttpTransport();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        jwksServer.stop(0);
+        transport.shutdown();
+    }
+
+    @Test
+    void repeatedLoginsFetchTheKeysOnce() throws Exception {
+        GoogleTokenVerifier verifier = verifier(0);
+
+        for (int i = 0; i < 20; i++) {
+            GoogleIdToken.Payload payload = verifier.verify(idToken(signingKeys, "user" + i + "@example.com"));
+            assertNotNull(payload);
+            assertEquals("user" + i + "@example.com", payload.getEmail());
+        }
+        assertEquals(1, jwksFetches.get());
+    }
+
+    @Test
+    void rejectsTokensForAnotherClientOrSignedByUnknownKey() throws Exception {
+        GoogleTokenVerifier verifier = verifier(60_000);
+
+        assertNull(verifier.verify(idToken(newKeyPair(), "intruder@example.com")));
+        assertNull(verifier.verify(sign(signingKeys, payload("user@example.com", "other-client"))));
+        assertNull(verifier.verify("not-a-token"));
+    }
+
+    @Test
+    void picksUpRotatedKeysOnSignatureMiss() throws Exception {
+        GoogleTokenVerifier verifier = verifier(0);
+        assertNotNull(verifier.verify(idToken(signingKeys, "user@example.com")));
+
+        KeyPair rotated = newKeyPair();
+        jwks = jwksOf((RSAPublicKey) rotated.getPublic());
+
+        assertNotNull(verifier.verify(idToken(rotated, "user@example.com")));
+        assertEquals(2, jwksFetches.get());
+    }
+
+    @Test
+    void concurrentUnknownKeyTokensRefetchTheKeysOnce() throws Exception {
+        GoogleTokenVerifier verifier = verifier(60_000);
+        assertNotNull(verifier.verify(idToken(signingKeys, "user@example.com")));
+        clockMs.addAndGet(61_000);
+
+        String forged = idToken(newKeyPair(), "intruder@example.com");
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<GoogleIdToken.Payload>> attempts = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                attempts.add(pool.submit(() -> verifier.verify(forged)));
+            }
+            for (Future<GoogleIdToken.Payload> attempt : attempts) {
+                assertNull(attempt.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(2, jwksFetches.get());
+    }
+
+    private GoogleTokenVerifier verifier(long minRefreshIntervalMs) {
+        String url = "http://127.0.0.1:" + jwksServer.getAddress().getPort() + "/certs";
+        GoogleKeySource keySource = new JwksGoogleKeySource(transport, jsonFactory, url,
+                21_600_000, 300_000, minRefreshIntervalMs, clockMs::get);
+        return new GoogleTokenVerifier(keySource, jsonFactory, List.of(CLIENT_ID), 300);
+    }
+
+    private String idToken(KeyPair keys, String email) throws GeneralSecurityException, IOException {
+        return sign(keys, payload(email, CLIENT_ID));
+    }
+
+    private static GoogleIdToken.Payload payload(String email, String audience) {
+        long now = System.currentTimeMillis() / 1000;
+        GoogleIdToken.Payload payload = new GoogleIdToken.Payload();
+        payload.setIssuer("https://accounts.google.com");
+        payload.setAudience(audience);
+        payload.setIssuedAtTimeSeconds(now);
+        payload.setExpirationTimeSeconds(now + 3600);
+        payload.setEmail(email);
+        return payload;
+    }
+
+    private String sign(KeyPair keys, GoogleIdToken.Payload payload) throws GeneralSecurityException, IOException {
+        JsonWebSignature.Header header = new JsonWebSignature.Header();
+        header.setAlgorithm("RS256");
+        return JsonWebSignature.signUsingRsaSha256(keys.getPrivate(), jsonFactory, header, payload);
+    }
+
+    private static KeyPair newKeyPair() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private static String jwksOf(RSAPublicKey key) {
+        return "{\"keys\":[{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"test\","
+                + "\"n\":\"" + base64Url(key.getModulus()) + "\",\"e\":\"" + base64Url(key.getPublicExponent()) + "\"}]}";
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ibm.marketingAI.security;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request JWT authentication cost. {@code perRequestKeyAndTripleParse} replays the
+ * old path (filter validates, filter extracts the subject, controller extracts
+ * it again, each building a fresh key and parser); {@code singleParse} is the
+ * current path through {@link JwtUtil#parseValidClaims}.
+ *
+ * <p>Run {@link #main} on the test classpath after {@code mvn test-compile}, e.g.
+ * {@code mvn dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=cp.txt}
+ * then {@code java -cp target/test-classes:target/classes:$(cat cp.txt) <this class>}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private String secretKey;
+    private String token;
+    private JwtUtil jwtUtil;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        secretKey = Base64.getEncoder().encodeToString(secret);
+        jwtUtil = new JwtUtil(secretKey);
+        token = jwtUtil.generateToken("bench@example.com");
+    }
+
+    @Benchmark
+    public String perRequestKeyAndTripleParse() {
+        Claims validated = legacyClaims();
+        if (validated.getExpiration().before(new Date())) {
+            return null;
+        }
+        legacyClaims().getSubject();
+        return legacyClaims().getSubject();
+    }
+
+    @Benchmark
+    public String singleParse() {
+        return jwtUtil.parseValidClaims(token).getSubject();
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ibm.marketingAI.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ibm.marketingAI.model.AppUser;
+import com.ibm.marketingAI.service.UserCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CustomUserDetailsService.class, UserCache.class, SimpleMeterRegistry.class})
+class PasswordUpgradeTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Test
+    void loginRehashesPasswordsStoredAtALowerCost() {
+        AppUser user = new AppUser();
+        user.setEmail("old@example.com");
+        user.setRole("USER");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("secret"));
+        entityManager.persistAndFlush(user);
+        entityManager.clear();
+
+        // what AuthenticationConfiguration builds from the encoder and user details beans
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(5);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("old@example.com", "secret"));
+        entityManager.flush();
+        entityManager.clear();
+
+        String stored = entityManager.find(AppUser.class, user.getId()).getPassword();
+        assertTrue(stored.startsWith("$2a$05$"), stored);
+        assertTrue(encoder.matches("secret", stored));
+        // the cached snapshot was dropped, so the next login sees the new hash
+        assertEquals(stored, userDetailsService.loadUserByUsername("old@example.com").getPassword());
+    }
+}
@@ -0,0 +1,92 @@
+package com.ibm.marketingAI.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VerifiedTokenCacheTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil(Base64.getEncoder().encodeToString(new byte[32]));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Instant start = Instant.now();
+    // wall clock and ticker both advance with nanos
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return start.plusNanos(nanos.get());
+        }
+    };
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 100, registry, nanos::get, clock);
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        String token = jwtUtil.generateToken("user@example.com");
+
+        assertEquals("user@example.com", cache.verify(token).subject());
+        assertEquals("user@example.com", cache.verify(token).subject());
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void userIdClaimSurvivesVerification() {
+        assertEquals(42L, cache.verify(jwtUtil.generateToken("user@example.com", 42L)).userId());
+        assertNull(cache.verify(jwtUtil.generateToken("old@example.com")).userId());
+    }
+
+    @Test
+    void entryIsEvictedAtTheTokensExpiry() {
+        String token = jwtUtil.generateToken("user@example.com");
+        long lifetimeMs = cache.verify(token).expiresAt().toEpochMilli() - clock.millis();
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(lifetimeMs - 1));
+        cache.verify(token);
+        assertEquals(1.0, misses());
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        cache.verify(token);
+        assertEquals(2.0, misses());
+    }
+
+    @Test
+    void tamperedTokenIsRejectedAndNotCached() {
+        String token = jwtUtil.generateToken("user@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertNull(cache.verify(tampered));
+        assertNull(cache.verify(tampered));
+
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    private double misses() {
+        return registry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "miss")
+                .functionCounter().count();
+    }
+}
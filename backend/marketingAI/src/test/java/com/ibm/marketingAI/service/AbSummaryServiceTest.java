@@ -0,0 +1,120 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ibm.marketingAI.model.AbSummary;
+import com.ibm.marketingAI.model.CampaignResponse;
+import com.ibm.marketingAI.model.Metrics;
+import com.ibm.marketingAI.model.TweetMetricSnapshot;
+import com.ibm.marketingAI.model.Version;
+import com.ibm.marketingAI.repo.AbSummaryRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AbSummaryService.class, UserCache.class, SimpleMeterRegistry.class})
+class AbSummaryServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AbSummaryService abSummaryService;
+
+    @Autowired
+    private AbSummaryRepo abSummaryRepo;
+
+    @Test
+    void newCampaignIsRankedOnPredictedConversion() {
+        CampaignResponse campaign = persistCampaign(4, 6);
+
+        AbSummary summary = abSummaryService.onCampaignSaved(campaign);
+
+        assertEquals("predicted", summary.getBasis());
+        assertEquals("B", summary.getLeader());
+        assertEquals(0.5, summary.getLift(), 1e-9);
+        assertNull(summary.getConfidence());
+    }
+
+    @Test
+    void snapshotsSwitchTheSummaryToMeasuredEngagement() {
+        CampaignResponse campaign = persistCampaign(4, 6);
+        abSummaryService.onCampaignSaved(campaign);
+        Long a = campaign.getVersionA().getV_id();
+        Long b = campaign.getVersionB().getV_id();
+
+        abSummaryService.onSnapshots(List.of(
+                snapshot(a, "2026-03-01T10:00:00Z", 100, 10_000),
+                snapshot(a, "2026-03-01T11:00:00Z", 300, 10_000),
+                snapshot(b, "2026-03-01T11:00:00Z", 200, 10_000)));
+        entityManager.flush();
+        entityManager.clear();
+
+        AbSummary summary = abSummaryRepo.findById(campaign.getId()).orElseThrow();
+        assertEquals("measured", summary.getBasis());
+        assertEquals("A", summary.getLeader());
+        assertEquals(300, summary.getEngagementsA());
+        assertEquals(-1.0 / 3, summary.getLift(), 1e-9);
+        assertTrue(summary.getConfidence() > 0.99);
+    }
+
+    @Test
+    void backfillWalksTheCampaignsInChunksAndKeepsExistingSummaries() {
+        CampaignResponse summarised = persistCampaign(4, 6);
+        AbSummary existing = abSummaryService.onCampaignSaved(summarised);
+        existing.setEngagementsA(7);
+        for (int i = 0; i < 5; i++) {
+            persistCampaign(1, 2);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        ReflectionTestUtils.setField(abSummaryService, "backfillChunkSize", 2);
+
+        abSummaryService.backfill();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(6, abSummaryRepo.count());
+        assertEquals(7, abSummaryRepo.findById(summarised.getId()).orElseThrow().getEngagementsA());
+    }
+
+    @Test
+    void confidenceMatchesTheTwoProportionZTest() {
+        // 5% vs 6% on 2,000 impressions each: z ~ 1.39, two-sided p ~ 0.165
+        assertEquals(0.835, AbSummaryService.confidence(100, 2_000, 120, 2_000), 0.005);
+        assertEquals(0, AbSummaryService.confidence(0, 100, 0, 100));
+    }
+
+    private CampaignResponse persistCampaign(int conversionA, int conversionB) {
+        CampaignResponse campaign = new CampaignResponse();
+        campaign.setVersionA(version(conversionA));
+        campaign.setVersionB(version(conversionB));
+        return entityManager.persistAndFlush(campaign);
+    }
+
+    private static Version version(int conversionRate) {
+        Version version = new Version();
+        version.setTitle("v");
+        version.setContent("c");
+        version.setMetrics(new Metrics(0, 0, conversionRate));
+        return version;
+    }
+
+    private static TweetMetricSnapshot snapshot(Long versionId, String capturedAt, int likes, int impressions) {
+        return new TweetMetricSnapshot(null, versionId, Instant.parse(capturedAt), likes, 0, 0, 0, impressions);
+    }
+}
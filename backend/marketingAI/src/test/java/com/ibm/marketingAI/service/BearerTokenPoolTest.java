@@ -0,0 +1,79 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class BearerTokenPoolTest {
+
+    @Test
+    void routesToTheTokenWithMostQuotaLeft() {
+        BearerTokenPool pool = new BearerTokenPool(List.of("a", "b", "c"), 0);
+        report(pool, "a", 5, 60);
+        report(pool, "b", 50, 60);
+        report(pool, "c", 20, 60);
+
+        assertEquals("b", pool.acquire().token());
+    }
+
+    @Test
+    void spreadsConcurrentCallsAcrossTokens() {
+        BearerTokenPool pool = new BearerTokenPool(List.of("a", "b"), 0);
+
+        assertNotEquals(pool.acquire().token(), pool.acquire().token());
+    }
+
+    @Test
+    void shedsWhenEveryTokenIsSpentPastTheWaitBudget() {
+        BearerTokenPool pool = new BearerTokenPool(List.of("a", "b"), 0);
+        report(pool, "a", 0, 60);
+        report(pool, "b", 0, 120);
+
+        TwitterRateLimitedException e = assertThrows(TwitterRateLimitedException.class, pool::acquire);
+        assertTrue(e.getRetryAfterMs() > TimeUnit.SECONDS.toMillis(50));
+    }
+
+    @Test
+    void throttledResponseWithoutHeadersStillSpendsTheToken() {
+        BearerTokenPool pool = new BearerTokenPool(List.of("a", "b"), 0);
+        pool.release(pool.acquire(), new HttpHeaders(), true);
+
+        // whichever token was throttled, everything now goes to the other one
+        String healthy = pool.acquire().token();
+        assertEquals(healthy, pool.acquire().token());
+    }
+
+    @Test
+    void waitsForAResetWithinTheWaitBudget() {
+        BearerTokenPool pool = new BearerTokenPool(List.of("a"), 5_000);
+        report(pool, "a", 0, 1);
+
+        long started = System.currentTimeMillis();
+        assertEquals("a", pool.acquire().token());
+        assertTrue(System.currentTimeMillis() - started < 5_000);
+    }
+
+    private static void report(BearerTokenPool pool, String token, long remaining, long resetInSeconds) {
+        // leases come out by headroom, so take them until we hold the one we want to update
+        List<BearerTokenPool.Lease> others = new ArrayList<>();
+        BearerTokenPool.Lease lease = pool.acquire();
+        while (!lease.token().equals(token)) {
+            others.add(lease);
+            lease = pool.acquire();
+        }
+        others.forEach(other -> pool.release(other, null, false));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(BearerTokenPool.REMAINING_HEADER, String.valueOf(remaining));
+        headers.add(BearerTokenPool.RESET_HEADER,
+                String.valueOf(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + resetInSeconds));
+        pool.release(lease, headers, false);
+    }
+}
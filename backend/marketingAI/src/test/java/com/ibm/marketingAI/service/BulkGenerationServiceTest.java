@@ -0,0 +1,144 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ibm.marketingAI.dto.BulkCampaignRequest;
+import com.ibm.marketingAI.dto.BulkJobDto;
+import com.ibm.marketingAI.dto.CampaignRequest;
+import com.ibm.marketingAI.model.AppUser;
+import com.ibm.marketingAI.model.CampaignResponse;
+
+@ExtendWith(MockitoExtension.class)
+class BulkGenerationServiceTest {
+
+    @Mock
+    private CampaignService campaignService;
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private BulkGenerationService bulkGenerationService;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final List<Integer> savedChunkSizes = new CopyOnWriteArrayList<>();
+    private final AtomicLong nextId = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkGenerationService, "generationExecutor", new SimpleAsyncTaskExecutor());
+        ReflectionTestUtils.setField(bulkGenerationService, "maxItems", 50);
+        ReflectionTestUtils.setField(bulkGenerationService, "parallelism", 3);
+        ReflectionTestUtils.setField(bulkGenerationService, "persistBatchSize", 4);
+        ReflectionTestUtils.setField(bulkGenerationService, "retentionMs", 60_000L);
+    }
+
+    @Test
+    void matrixRunsWithBoundedParallelismAndChunkedSaves() throws Exception {
+        stubGenerationAndSave(null);
+
+        BulkGenerationJob job = bulkGenerationService.submit(matrix(), "a@b.c", 7L, false);
+        BulkJobDto dto = awaitDone(job);
+
+        // 3 tones x 2 age bands x 2 audience types
+        assertEquals(12, dto.getTotal());
+        assertEquals(12, dto.getCompleted());
+        assertEquals("COMPLETED", dto.getStatus());
+        assertTrue(dto.getItems().stream().allMatch(item -> item.getCampaignId() != null));
+        assertTrue(peakInFlight.get() <= 3);
+        assertTrue(savedChunkSizes.stream().allMatch(size -> size <= 4));
+        assertEquals(12, savedChunkSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void failedItemsAreReportedWithoutStoppingTheRest() throws Exception {
+        stubGenerationAndSave("Bold");
+
+        BulkJobDto dto = awaitDone(bulkGenerationService.submit(matrix(), "a@b.c", 7L, false));
+
+        assertEquals(4, dto.getFailed());
+        assertEquals(8, dto.getCompleted());
+        dto.getItems().stream()
+                .filter(item -> item.getRequest().getTone().equals("Bold"))
+                .forEach(item -> {
+                    assertEquals("FAILED", item.getStatus());
+                    assertNull(item.getCampaignId());
+                    assertNotNull(item.getError());
+                });
+    }
+
+    @Test
+    void rejectsOversizedBulks() {
+        List<CampaignRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            requests.add(new CampaignRequest("Fun", "Brand", "Adults", "Students", "Soda", 18, 25));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkGenerationService.submit(new BulkCampaignRequest(requests, null, null, null, null), "a@b.c", 7L, false));
+    }
+
+    private void stubGenerationAndSave(String failingTone) {
+        when(userCache.reference(any(), any())).thenReturn(new AppUser());
+        when(campaignService.fetchGeneration(any(), anyBoolean(), anyBoolean())).thenAnswer(invocation -> {
+            CampaignRequest request = invocation.getArgument(0);
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                if (request.getTone().equals(failingTone)) {
+                    throw new IllegalStateException("Granite returned 500");
+                }
+                return new CampaignResponse();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        when(campaignService.buildCampaign(any(), any(), any())).thenAnswer(invocation -> new CampaignResponse());
+        when(campaignService.saveCampaigns(any())).thenAnswer(invocation -> {
+            List<CampaignResponse> chunk = invocation.getArgument(0);
+            savedChunkSizes.add(chunk.size());
+            chunk.forEach(campaign -> campaign.setId(nextId.incrementAndGet()));
+            return chunk;
+        });
+    }
+
+    private static BulkCampaignRequest matrix() {
+        CampaignRequest base = new CampaignRequest("Fun", "Brand", "Adults", "Students", "Soda", 18, 25);
+        return new BulkCampaignRequest(null, base,
+                List.of("Fun", "Bold", "Calm"),
+                List.of(new BulkCampaignRequest.AgeBand(18, 25), new BulkCampaignRequest.AgeBand(26, 40)),
+                List.of("Students", "Professionals"));
+    }
+
+    private BulkJobDto awaitDone(BulkGenerationJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!job.isDone() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.isDone());
+        return bulkGenerationService.toDto(job);
+    }
+}
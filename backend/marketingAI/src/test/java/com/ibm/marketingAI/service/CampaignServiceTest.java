@@ -0,0 +1,74 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ibm.marketingAI.dto.CampaignRequest;
+import com.ibm.marketingAI.model.CampaignResponse;
+import com.ibm.marketingAI.model.Version;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CampaignServiceTest {
+
+    @Mock
+    private GraniteIntegrationService graniteIntegrationService;
+
+    private final CampaignService campaignService = new CampaignService();
+    private final CampaignRequest request = new CampaignRequest("Bold", "Acme", "Students", "All", "Widget", 18, 24);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(campaignService, "graniteIntegrationService", graniteIntegrationService);
+        ReflectionTestUtils.setField(campaignService, "generationCache",
+                new GenerationCache(60_000, 100, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(campaignService, "graniteCallCoalescer",
+                new GraniteCallCoalescer(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void queuedCallerDoesNotJoinARejectedSynchronousCall() throws Exception {
+        CountDownLatch leading = new CountDownLatch(1);
+        CountDownLatch reject = new CountDownLatch(1);
+        when(graniteIntegrationService.callGranite(any(), eq(false))).thenAnswer(invocation -> {
+            leading.countDown();
+            reject.await(5, TimeUnit.SECONDS);
+            throw new GraniteUnavailableException("Too many campaign generations in progress", 1500, null);
+        });
+        CampaignResponse generated = new CampaignResponse();
+        generated.setVersionA(new Version());
+        generated.setVersionB(new Version());
+        doReturn(generated).when(graniteIntegrationService).callGranite(any(), eq(true));
+
+        CompletableFuture<CampaignResponse> synchronous =
+                CompletableFuture.supplyAsync(() -> campaignService.fetchGeneration(request, false, false));
+        assertTrue(leading.await(5, TimeUnit.SECONDS));
+
+        // the synchronous call is still in flight, yet the queued job makes its own
+        assertSame(generated, CompletableFuture.supplyAsync(() -> campaignService.fetchGeneration(request, false, true))
+                .get(5, TimeUnit.SECONDS));
+
+        reject.countDown();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> synchronous.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(GraniteUnavailableException.class, e.getCause());
+    }
+}
@@ -0,0 +1,104 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ibm.marketingAI.dto.CampaignRequest;
+import com.ibm.marketingAI.model.CampaignResponse;
+import com.ibm.marketingAI.model.Version;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GenerationCacheTest {
+
+    private static final long TTL_MS = 60_000;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final GenerationCache cache = new GenerationCache(TTL_MS, 100, nanos::get);
+
+    @Test
+    void equalRequestsShareAKey() {
+        assertEquals(GenerationCache.keyOf(request("Bold", "Acme", 18)),
+                GenerationCache.keyOf(request("Bold", "Acme", 18)));
+        // case and surrounding or repeated whitespace are not significant
+        assertEquals(GenerationCache.keyOf(request("Bold", "Acme Corp", 18)),
+                GenerationCache.keyOf(request("  bold ", "ACME   corp", 18)));
+    }
+
+    @Test
+    void requestsDifferingInAnyFieldGetDifferentKeys() {
+        String key = GenerationCache.keyOf(request("Bold", "Acme", 18));
+        assertNotEquals(key, GenerationCache.keyOf(request("Calm", "Acme", 18)));
+        assertNotEquals(key, GenerationCache.keyOf(request("Bold", "Acme2", 18)));
+        assertNotEquals(key, GenerationCache.keyOf(request("Bold", "Acme", 19)));
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        CampaignResponse generation = generation();
+        cache.put("k", generation);
+
+        advanceMs(TTL_MS - 1);
+        assertSame(generation, cache.get("k"));
+
+        advanceMs(1);
+        assertNull(cache.get("k"));
+    }
+
+    @Test
+    void incompleteGenerationsAreNotCached() {
+        cache.put("k", new CampaignResponse());
+        assertNull(cache.get("k"));
+    }
+
+    @Test
+    void freshRequestsBypassTheCachedEntryAndReplaceIt() {
+        GraniteIntegrationService granite = mock(GraniteIntegrationService.class);
+        CampaignService campaignService = new CampaignService();
+        ReflectionTestUtils.setField(campaignService, "graniteIntegrationService", granite);
+        ReflectionTestUtils.setField(campaignService, "generationCache", cache);
+        ReflectionTestUtils.setField(campaignService, "graniteCallCoalescer",
+                new GraniteCallCoalescer(new SimpleMeterRegistry()));
+
+        CampaignRequest request = request("Bold", "Acme", 18);
+        CampaignResponse cached = generation();
+        CampaignResponse regenerated = generation();
+        cache.put(GenerationCache.keyOf(request), cached);
+
+        assertSame(cached, campaignService.fetchGeneration(request, false, false));
+        verify(granite, never()).callGranite(any(), anyBoolean());
+
+        when(granite.callGranite(any(), anyBoolean())).thenReturn(regenerated);
+        assertSame(regenerated, campaignService.fetchGeneration(request, true, false));
+        assertSame(regenerated, cache.get(GenerationCache.keyOf(request)));
+    }
+
+    private void advanceMs(long ms) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+
+    private static CampaignRequest request(String tone, String brandName, int minAge) {
+        return new CampaignRequest(tone, brandName, "Students", "All", "Widget", minAge, 24);
+    }
+
+    private static CampaignResponse generation() {
+        CampaignResponse response = new CampaignResponse();
+        response.setVersionA(new Version());
+        response.setVersionB(new Version());
+        return response;
+    }
+}
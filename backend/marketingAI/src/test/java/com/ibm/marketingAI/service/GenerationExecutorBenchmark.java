@@ -0,0 +1,148 @@
+package com.ibm.marketingAI.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.ibm.marketingAI.config.AsyncConfig;
+import com.ibm.marketingAI.dto.CampaignRequest;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+/**
+ * Time and memory for a burst of {@code generations} background generations
+ * against a Granite stub with a fixed latency, on the platform thread pool
+ * versus the virtual-thread executor, both behind the production bulkhead.
+ * The pool runs 8 calls at a time and queues the rest; virtual threads run
+ * every call and park the ones beyond the 20 bulkhead slots.
+ *
+ * <p>{@link #main} adds the GC profiler: {@code gc.alloc.rate.norm} is the heap
+ * allocated per burst, which includes virtual-thread stacks since they live on
+ * the heap. Platform thread stacks are native memory (one {@code -Xss} per pool
+ * thread, not per call) and show up with {@code -XX:NativeMemoryTracking=summary}.
+ *
+ * <p>Run {@link #main} on the test classpath after {@code mvn test-compile}, e.g.
+ * {@code mvn dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=cp.txt}
+ * then {@code java -cp target/test-classes:target/classes:$(cat cp.txt) <this class>}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class GenerationExecutorBenchmark {
+
+    private static final int POOL_SIZE = 8;
+    private static final int BULKHEAD_SLOTS = 20;
+    private static final long UPSTREAM_LATENCY_MS = 50;
+
+    private static final byte[] STUB_BODY = """
+        {"versionA":{"title":"Variation A","content":"a","metrics":{"openRate":1,"clickThroughRate":1,"conversionRate":1}},
+         "versionB":{"title":"Variation B","content":"b","metrics":{"openRate":1,"clickThroughRate":1,"conversionRate":1}}}
+        """.getBytes(StandardCharsets.UTF_8);
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"64"})
+    public int generations;
+
+    private final CampaignRequest request = new CampaignRequest("Bold", "Acme", "Students", "All", "Widget", 18, 24);
+    private HttpServer stub;
+    private AsyncTaskExecutor executor;
+    private GraniteIntegrationService graniteService;
+
+    @Setup
+    public void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), generations * 2);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/api/dashboard/post", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(UPSTREAM_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, STUB_BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(STUB_BODY);
+            }
+        });
+        stub.start();
+
+        graniteService = new GraniteIntegrationService(new RestTemplate(), CircuitBreaker.ofDefaults("granite"),
+                Bulkhead.of("granite", BulkheadConfig.custom()
+                        .maxConcurrentCalls(BULKHEAD_SLOTS)
+                        .maxWaitDuration(Duration.ofMillis(500))
+                        .build()));
+        ReflectionTestUtils.setField(graniteService, "url",
+                "http://127.0.0.1:" + stub.getAddress().getPort() + "/api/dashboard/post");
+
+        AsyncConfig config = new AsyncConfig();
+        ReflectionTestUtils.setField(config, "virtualThreads", virtualThreads);
+        ReflectionTestUtils.setField(config, "poolSize", POOL_SIZE);
+        ReflectionTestUtils.setField(config, "queueCapacity", generations);
+        // a finished task frees its slot just after its future completes, so leave
+        // room for the tail of the previous burst
+        ReflectionTestUtils.setField(config, "maxInFlight", generations * 2);
+        executor = config.generationExecutor();
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.initialize();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+        stub.stop(0);
+    }
+
+    @Benchmark
+    public void burst() {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[generations];
+        for (int i = 0; i < generations; i++) {
+            calls[i] = executor.submitCompletable(() -> graniteService.callGranite(request, true));
+        }
+        CompletableFuture.allOf(calls).join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GenerationExecutorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,159 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.ibm.marketingAI.config.AsyncConfig;
+import com.ibm.marketingAI.dto.CampaignRequest;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+/**
+ * Submits more generations than either executor or bulkhead can run at once
+ * against a local Granite stub that holds every call until released, so the
+ * number in flight is reached deterministically rather than by timing. Every
+ * generation is an accepted background job, so none may fail because the
+ * bulkhead is full. Throughput and memory per in-flight call are compared in
+ * {@link GenerationExecutorBenchmark}.
+ */
+class GenerationLoadTest {
+
+    private static final int GENERATIONS = 64;
+    private static final int POOL_SIZE = 8;
+    private static final int BULKHEAD_SLOTS = 20;
+
+    private static final String STUB_BODY = """
+        {"versionA":{"title":"Variation A","content":"a","metrics":{"openRate":1,"clickThroughRate":1,"conversionRate":1}},
+         "versionB":{"title":"Variation B","content":"b","metrics":{"openRate":1,"clickThroughRate":1,"conversionRate":1}}}
+        """;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CountDownLatch upstreamReached;
+    private HttpServer stub;
+    private GraniteIntegrationService graniteService;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), GENERATIONS * 2);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/api/dashboard/post", exchange -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            upstreamReached.countDown();
+            try {
+                exchange.getRequestBody().readAllBytes();
+                release.await(30, TimeUnit.SECONDS);
+                byte[] body = STUB_BODY.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        stub.start();
+
+        // the production bulkhead, with fewer slots than there are generations
+        graniteService = new GraniteIntegrationService(new RestTemplate(), CircuitBreaker.ofDefaults("granite"),
+                Bulkhead.of("granite", BulkheadConfig.custom()
+                        .maxConcurrentCalls(BULKHEAD_SLOTS)
+                        .maxWaitDuration(Duration.ofMillis(500))
+                        .build()));
+        ReflectionTestUtils.setField(graniteService, "url",
+                "http://127.0.0.1:" + stub.getAddress().getPort() + "/api/dashboard/post");
+    }
+
+    @AfterEach
+    void stopStub() {
+        release.countDown();
+        stub.stop(0);
+    }
+
+    @Test
+    void platformPoolCapsInFlightGenerationsAtPoolSize() throws Exception {
+        upstreamReached = new CountDownLatch(POOL_SIZE);
+        AsyncTaskExecutor executor = executor(false);
+        try {
+            CompletableFuture<?> all = submitAll(executor, new CountDownLatch(GENERATIONS));
+
+            // every pool thread is now parked in the stub, so no further call can start
+            assertTrue(upstreamReached.await(10, TimeUnit.SECONDS));
+            assertEquals(POOL_SIZE, inFlight.get());
+
+            release.countDown();
+            all.get(30, TimeUnit.SECONDS);
+            assertEquals(POOL_SIZE, peakInFlight.get());
+        } finally {
+            ((ThreadPoolTaskExecutor) executor).shutdown();
+        }
+    }
+
+    @Test
+    void virtualThreadsKeepEveryGenerationInFlightAndQueueTheRestOnTheBulkhead() throws Exception {
+        upstreamReached = new CountDownLatch(BULKHEAD_SLOTS);
+        CountDownLatch started = new CountDownLatch(GENERATIONS);
+        CompletableFuture<?> all = submitAll(executor(true), started);
+
+        // all generations are running: a bulkhead's worth upstream, the rest waiting for a slot
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertTrue(upstreamReached.await(10, TimeUnit.SECONDS));
+        assertEquals(BULKHEAD_SLOTS, inFlight.get());
+
+        release.countDown();
+        all.get(30, TimeUnit.SECONDS);
+        assertEquals(BULKHEAD_SLOTS, peakInFlight.get());
+    }
+
+    private CompletableFuture<?> submitAll(AsyncTaskExecutor executor, CountDownLatch started) {
+        CampaignRequest request = new CampaignRequest("Bold", "Acme", "Students", "All", "Widget", 18, 24);
+        List<CompletableFuture<?>> calls = new ArrayList<>();
+        for (int i = 0; i < GENERATIONS; i++) {
+            calls.add(executor.submitCompletable(() -> {
+                started.countDown();
+                return graniteService.callGranite(request, true);
+            }));
+        }
+        return CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new));
+    }
+
+    private AsyncTaskExecutor executor(boolean virtualThreads) {
+        AsyncConfig config = new AsyncConfig();
+        ReflectionTestUtils.setField(config, "virtualThreads", virtualThreads);
+        ReflectionTestUtils.setField(config, "poolSize", POOL_SIZE);
+        ReflectionTestUtils.setField(config, "queueCapacity", GENERATIONS);
+        ReflectionTestUtils.setField(config, "maxInFlight", GENERATIONS);
+        AsyncTaskExecutor executor = config.generationExecutor();
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.initialize();
+        }
+        return executor;
+    }
+}
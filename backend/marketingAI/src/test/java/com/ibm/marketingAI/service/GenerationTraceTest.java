@@ -0,0 +1,83 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.ibm.marketingAI.dto.CampaignRequest;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+class GenerationTraceTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Test
+    void continuesTheCallersTraceAndCollectsStages() {
+        try (GenerationTrace trace = GenerationTrace.start("test", "00-" + TRACE_ID + "-00f067aa0ba902b7-01")) {
+            assertEquals(TRACE_ID, trace.getTraceId());
+            assertTrue(trace.traceparent().matches("00-" + TRACE_ID + "-[0-9a-f]{16}-01"));
+
+            GenerationTrace.stage("persist", () -> null);
+            GenerationTrace.stage("persist", () -> null);
+            trace.recordServerTiming("node.", "prompt;dur=1.5, openrouter;desc=\"llm\";dur=2000.25");
+
+            String header = trace.serverTiming();
+            assertTrue(header.startsWith("persist;dur="), header);
+            assertTrue(header.contains("node.prompt;dur=1.5, node.openrouter;dur=2000.3, total;dur="), header);
+        }
+        assertNull(GenerationTrace.current());
+    }
+
+    @Test
+    void malformedTraceparentStartsANewTrace() {
+        try (GenerationTrace trace = GenerationTrace.start("test", "not-a-traceparent")) {
+            assertTrue(trace.getTraceId().matches("[0-9a-f]{32}"));
+        }
+    }
+
+    @Test
+    void graniteCallPropagatesTheTraceAndRecordsNodeStages() throws IOException {
+        AtomicReference<String> received = new AtomicReference<>();
+        HttpServer node = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        node.createContext("/api/dashboard/post", exchange -> {
+            received.set(exchange.getRequestHeaders().getFirst(GenerationTrace.TRACEPARENT_HEADER));
+            byte[] body = "{\"versionA\":{\"content\":\"a\"},\"versionB\":{\"content\":\"b\"}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add(GenerationTrace.SERVER_TIMING_HEADER, "prompt;dur=0.4, openrouter;dur=812.0");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        node.start();
+        try {
+            GraniteIntegrationService granite = new GraniteIntegrationService(new RestTemplate(),
+                    CircuitBreaker.ofDefaults("granite"), Bulkhead.ofDefaults("granite"));
+            ReflectionTestUtils.setField(granite, "url",
+                    "http://127.0.0.1:" + node.getAddress().getPort() + "/api/dashboard/post");
+
+            try (GenerationTrace trace = GenerationTrace.start("test", null)) {
+                GenerationTrace.stage("granite", () -> granite.callGranite(new CampaignRequest()));
+
+                assertTrue(received.get().startsWith("00-" + trace.getTraceId() + "-"), received.get());
+                assertTrue(trace.serverTiming().contains("node.prompt;dur=0.4, node.openrouter;dur=812.0"),
+                        trace.serverTiming());
+            }
+        } finally {
+            node.stop(0);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.ibm.marketingAI.model.CampaignResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GraniteCallCoalescerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GraniteCallCoalescer coalescer = new GraniteCallCoalescer(registry);
+
+    @Test
+    void burstOfIdenticalCallsCostsOneUpstreamCall() throws Exception {
+        int callers = 20;
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CampaignResponse upstreamResult = new CampaignResponse();
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<CompletableFuture<CampaignResponse>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> coalescer.call("same", () -> {
+                    upstreamCalls.incrementAndGet();
+                    await(release);
+                    return upstreamResult;
+                }), pool));
+            }
+
+            // let every caller reach the coalescer before the leader finishes
+            while (registry.counter("granite.calls.coalesced").count() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (CompletableFuture<CampaignResponse> result : results) {
+                assertSame(upstreamResult, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, upstreamCalls.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedCallIsNotRememberedForLaterCallers() {
+        assertThrows(IllegalStateException.class,
+                () -> coalescer.call("key", () -> { throw new IllegalStateException("upstream down"); }));
+
+        CampaignResponse recovered = new CampaignResponse();
+        assertSame(recovered, coalescer.call("key", () -> recovered));
+    }
+
+    @Test
+    void followersAreReleasedWhenTheLeaderThrowsAnError() throws Exception {
+        CountDownLatch leading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<CampaignResponse> leader = CompletableFuture.supplyAsync(() -> coalescer.call("key", () -> {
+                leading.countDown();
+                await(release);
+                throw new StackOverflowError("simulated");
+            }), pool);
+            assertTrue(leading.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture<CampaignResponse> follower = CompletableFuture.supplyAsync(
+                    () -> coalescer.call("key", CampaignResponse::new), pool);
+            while (registry.counter("granite.calls.coalesced").count() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, failure.getCause());
+            assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        CampaignResponse recovered = new CampaignResponse();
+        assertSame(recovered, coalescer.call("key", () -> recovered));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.ibm.marketingAI.dto.CampaignRequest;
+import com.ibm.marketingAI.dto.GraniteDelta;
+import com.ibm.marketingAI.model.CampaignResponse;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+class GraniteIntegrationServiceStreamTest {
+
+    private static final String RESULT = """
+        {"versionA":{"title":"Variation A","content":"Hello there","metrics":{"openRate":1,"clickThroughRate":1,"conversionRate":1}},\
+        "versionB":{"title":"Variation B","content":"Hi","metrics":{"openRate":1,"clickThroughRate":1,"conversionRate":1}}}""";
+
+    private HttpServer stub;
+    private GraniteIntegrationService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/stream", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                // flushed one event at a time, as the Node service writes them
+                for (String event : List.of(
+                        "event: delta\ndata: {\"variation\":\"A\",\"text\":\"Hello \"}\n\n",
+                        ": keep-alive\n\n",
+                        "event: delta\ndata: {\"variation\":\"A\",\"text\":\"there\"}\n\n",
+                        "event: delta\ndata: {\"variation\":\"B\",\"text\":\"Hi\"}\n\n",
+                        "event: result\ndata: " + RESULT + "\n\n")) {
+                    out.write(event.getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            }
+        });
+        stub.createContext("/broken", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("event: delta\ndata: {\"variation\":\"A\",\"text\":\"Hel\"}\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        stub.start();
+        service = new GraniteIntegrationService(new RestTemplate(), CircuitBreaker.ofDefaults("granite"),
+                Bulkhead.of("granite", BulkheadConfig.custom().maxConcurrentCalls(1).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+    }
+
+    @Test
+    void deltasArriveInOrderAndTheResultIsParsed() {
+        ReflectionTestUtils.setField(service, "streamUrl", baseUrl() + "/stream");
+        List<GraniteDelta> deltas = new CopyOnWriteArrayList<>();
+
+        CampaignResponse result = service.streamGranite(new CampaignRequest(), deltas::add);
+
+        assertEquals(List.of("A:Hello ", "A:there", "B:Hi"),
+                deltas.stream().map(d -> d.getVariation() + ":" + d.getText()).toList());
+        assertEquals("Hello there", result.getVersionA().getContent());
+        assertEquals("Hi", result.getVersionB().getContent());
+    }
+
+    @Test
+    void streamEndingWithoutAResultFails() {
+        ReflectionTestUtils.setField(service, "streamUrl", baseUrl() + "/broken");
+        List<GraniteDelta> deltas = new CopyOnWriteArrayList<>();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> service.streamGranite(new CampaignRequest(), deltas::add));
+        assertTrue(e.getMessage().contains("without a result"));
+        assertEquals(1, deltas.size());
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + stub.getAddress().getPort();
+    }
+}
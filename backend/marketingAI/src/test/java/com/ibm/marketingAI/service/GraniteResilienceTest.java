@@ -0,0 +1,180 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.ibm.marketingAI.dto.CampaignRequest;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+
+class GraniteResilienceTest {
+
+    private static final String BODY = """
+        {"versionA":{"title":"A","content":"a"},"versionB":{"title":"B","content":"b"}}""";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch holding = new CountDownLatch(1);
+    private HttpServer stub;
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+    private GraniteIntegrationService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/fail", exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        stub.createContext("/slow", exchange -> {
+            upstreamCalls.incrementAndGet();
+            sleep(100);
+            ok(exchange);
+        });
+        stub.createContext("/hold", exchange -> {
+            holding.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ok(exchange);
+        });
+        stub.start();
+
+        circuitBreaker = CircuitBreaker.of("granite", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .slowCallRateThreshold(50)
+                .slowCallDurationThreshold(Duration.ofMillis(50))
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        bulkhead = Bulkhead.of("granite", BulkheadConfig.custom().maxConcurrentCalls(1).maxWaitDuration(Duration.ZERO).build());
+        service = new GraniteIntegrationService(new RestTemplate(), circuitBreaker, bulkhead);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        stub.stop(0);
+    }
+
+    @Test
+    void failingUpstreamOpensTheBreakerAndLaterCallsFailFast() {
+        useUrl("/fail");
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpServerErrorException.class, () -> service.callGranite(new CampaignRequest()));
+        }
+
+        GraniteUnavailableException e = assertThrows(GraniteUnavailableException.class,
+                () -> service.callGranite(new CampaignRequest()));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(Duration.ofMinutes(1).toMillis(), e.getRetryAfterMs());
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    @Test
+    void slowUpstreamOpensTheBreaker() {
+        useUrl("/slow");
+        for (int i = 0; i < 4; i++) {
+            service.callGranite(new CampaignRequest());
+        }
+
+        assertThrows(GraniteUnavailableException.class, () -> service.callGranite(new CampaignRequest()));
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    @Test
+    void fullBulkheadRejectsWithoutWaitingOrTrippingTheBreaker() throws Exception {
+        useUrl("/hold");
+        CompletableFuture<?> first = CompletableFuture.runAsync(() -> service.callGranite(new CampaignRequest()));
+        holding.await(5, TimeUnit.SECONDS);
+
+        assertThrows(GraniteUnavailableException.class, () -> service.callGranite(new CampaignRequest()));
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void queuedCallsWaitForASlotInsteadOfFailing() throws Exception {
+        useUrl("/hold");
+        CompletableFuture<?> first = CompletableFuture.runAsync(() -> service.callGranite(new CampaignRequest()));
+        holding.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<?> queued = CompletableFuture.runAsync(() -> service.callGranite(new CampaignRequest(), true));
+        sleep(200);
+        assertFalse(queued.isDone());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void queuedCallsGiveUpAtTheQueueTimeoutWithoutRejectingThroughTheBulkhead() throws Exception {
+        AtomicInteger rejectedEvents = new AtomicInteger();
+        bulkhead.getEventPublisher().onCallRejected(event -> rejectedEvents.incrementAndGet());
+        ReflectionTestUtils.setField(service, "queueTimeoutMs", 200L);
+        useUrl("/hold");
+        CompletableFuture<?> first = CompletableFuture.runAsync(() -> service.callGranite(new CampaignRequest()));
+        holding.await(5, TimeUnit.SECONDS);
+
+        assertThrows(GraniteUnavailableException.class, () -> service.callGranite(new CampaignRequest(), true));
+        assertEquals(0, rejectedEvents.get());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    private void useUrl(String path) {
+        ReflectionTestUtils.setField(service, "url", "http://127.0.0.1:" + stub.getAddress().getPort() + path);
+    }
+
+    private static void ok(HttpExchange exchange) throws IOException {
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.ibm.marketingAI.dto.TwitterAnalyticsDTO;
+
+class TweetAnalyticsCacheTest {
+
+    private static final long TTL_MS = 60_000;
+    private static final long REFRESH_AHEAD_MS = 10_000;
+    private static final long MAX_STALE_MS = 300_000;
+    private static final long NEGATIVE_TTL_MS = 30_000;
+    private static final String UNKNOWN = "404";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final AtomicBoolean upstreamDown = new AtomicBoolean();
+
+    // refreshes run on the calling thread so the test can observe them synchronously
+    private final TweetAnalyticsCache cache = new TweetAnalyticsCache(this::upstream,
+            TTL_MS, REFRESH_AHEAD_MS, MAX_STALE_MS, NEGATIVE_TTL_MS, 100, nanos::get, Runnable::run);
+
+    @Test
+    void repeatedViewsCostOneUpstreamCallPerTweet() {
+        for (int i = 0; i < 50; i++) {
+            cache.get("1");
+            cache.get("2");
+            advanceMs(100);
+        }
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void hotTweetIsRefreshedBeforeItGoesStale() {
+        cache.get("1");
+        advanceMs(TTL_MS - REFRESH_AHEAD_MS + 1);
+
+        TwitterAnalyticsDTO served = cache.get("1");
+
+        assertEquals(2, upstreamCalls.get());
+        assertNull(served.getStaleSince());
+        assertEquals(2, cache.get("1").getPublic_metrics().getLike_count());
+    }
+
+    @Test
+    void servesLastValueWithStaleSinceWhenRefreshFails() {
+        TwitterAnalyticsDTO first = cache.get("1");
+        upstreamDown.set(true);
+        advanceMs(TTL_MS + 1);
+
+        TwitterAnalyticsDTO served = cache.get("1");
+
+        assertEquals(1, served.getPublic_metrics().getLike_count());
+        assertNotNull(served.getStaleSince());
+        assertEquals(first.getFetchedAt().plusMillis(TTL_MS), served.getStaleSince());
+    }
+
+    @Test
+    void unknownTweetIsCachedAsAMissUntilTheNegativeTtl() {
+        for (int i = 0; i < 50; i++) {
+            assertNull(cache.get(UNKNOWN));
+            advanceMs(100);
+        }
+        assertEquals(1, upstreamCalls.get());
+
+        advanceMs(NEGATIVE_TTL_MS);
+        assertNull(cache.get(UNKNOWN));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void invalidateDropsACachedMiss() {
+        assertNull(cache.get(UNKNOWN));
+        cache.invalidate(UNKNOWN);
+        cache.get(UNKNOWN);
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    // UNKNOWN stands for an id that is untracked or unknown to Twitter
+    private TwitterAnalyticsDTO upstream(String tweetId) {
+        if (UNKNOWN.equals(tweetId)) {
+            upstreamCalls.incrementAndGet();
+            return null;
+        }
+        if (upstreamDown.get()) {
+            throw new IllegalStateException("rate limited");
+        }
+        TwitterAnalyticsDTO.PublicMetrics metrics = new TwitterAnalyticsDTO.PublicMetrics();
+        metrics.setLike_count(upstreamCalls.incrementAndGet());
+        TwitterAnalyticsDTO dto = new TwitterAnalyticsDTO();
+        dto.setId(tweetId);
+        dto.setPublic_metrics(metrics);
+        return dto;
+    }
+
+    private void advanceMs(long ms) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+}
@@ -0,0 +1,104 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import com.ibm.marketingAI.dto.TwitterAnalyticsDTO;
+import com.sun.net.httpserver.HttpServer;
+
+class TwitterMetricsClientTest {
+
+    // ids the stub knows about; anything else is left out of the response, like a deleted tweet
+    private static final int KNOWN_IDS = 1000;
+
+    private final List<List<String>> lookups = new CopyOnWriteArrayList<>();
+    private HttpServer twitterStub;
+    private TwitterMetricsClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        twitterStub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        twitterStub.createContext("/2/tweets", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            List<String> ids = Arrays.asList(query.substring(query.indexOf("ids=") + 4, query.indexOf('&')).split(","));
+            lookups.add(ids);
+            String data = ids.stream()
+                    .filter(id -> Integer.parseInt(id) < KNOWN_IDS)
+                    .map(id -> "{\"id\":\"" + id + "\",\"text\":\"t\",\"public_metrics\":{\"like_count\":" + id + "}}")
+                    .collect(Collectors.joining(","));
+            byte[] body = ("{\"data\":[" + data + "]}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        twitterStub.start();
+        client = new TwitterMetricsClient(new RestTemplate(),
+                "http://127.0.0.1:" + twitterStub.getAddress().getPort(),
+                new BearerTokenPool(List.of("token-1", "token-2"), 0), 100, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        twitterStub.stop(0);
+    }
+
+    @Test
+    void concurrentCallersShareOneMultiIdLookup() {
+        List<TwitterAnalyticsDTO> results = fetchConcurrently(40);
+
+        assertEquals(1, lookups.size());
+        assertEquals(40, lookups.get(0).size());
+        for (int i = 0; i < 40; i++) {
+            assertEquals(String.valueOf(i), results.get(i).getId());
+            assertEquals(i, results.get(i).getPublic_metrics().getLike_count());
+        }
+    }
+
+    @Test
+    void batchesAreCappedAtTheLookupLimit() {
+        fetchConcurrently(250);
+
+        assertTrue(lookups.size() >= 3);
+        assertTrue(lookups.stream().allMatch(batch -> batch.size() <= 100));
+        assertEquals(250, lookups.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void missingTweetsResolveToNull() {
+        assertNull(client.fetchTweetAnalytics(String.valueOf(KNOWN_IDS + 1)));
+    }
+
+    private List<TwitterAnalyticsDTO> fetchConcurrently(int tweets) {
+        ExecutorService pool = Executors.newFixedThreadPool(tweets);
+        try {
+            List<CompletableFuture<TwitterAnalyticsDTO>> futures = new ArrayList<>();
+            for (int i = 0; i < tweets; i++) {
+                String id = String.valueOf(i);
+                futures.add(CompletableFuture.supplyAsync(() -> client.fetchTweetAnalytics(id), pool));
+            }
+            return futures.stream().map(CompletableFuture::join).toList();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
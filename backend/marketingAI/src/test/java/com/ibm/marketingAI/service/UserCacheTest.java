@@ -0,0 +1,100 @@
+package com.ibm.marketingAI.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ibm.marketingAI.model.AppUser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({UserCache.class, SimpleMeterRegistry.class})
+class UserCacheTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserCache userCache;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatLookupsDoNotQueryTheDatabase() {
+        persistUser("cached@example.com", "Ada");
+        statistics.clear();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Ada", userCache.find("cached@example.com").orElseThrow().getFirstName());
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void referenceDoesNotLoadTheUserRow() {
+        AppUser user = persistUser("owner@example.com", "Grace");
+        userCache.find("owner@example.com");
+        entityManager.clear();
+        statistics.clear();
+
+        AppUser reference = userCache.reference("owner@example.com");
+
+        assertEquals(user.getId(), reference.getId());
+        assertFalse(Hibernate.isInitialized(reference));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void referenceByTokenUserIdSkipsTheLookup() {
+        AppUser user = persistUser("token@example.com", "Alan");
+        statistics.clear();
+
+        AppUser reference = userCache.reference("token@example.com", user.getId());
+
+        assertEquals(user.getId(), reference.getId());
+        assertFalse(Hibernate.isInitialized(reference));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void invalidatedEntriesAreReloaded() {
+        assertTrue(userCache.find("new@example.com").isEmpty());
+        persistUser("new@example.com", "Linus");
+        userCache.invalidate("new@example.com");
+
+        assertEquals("Linus", userCache.find("new@example.com").orElseThrow().getFirstName());
+    }
+
+    private AppUser persistUser(String email, String firstName) {
+        AppUser user = new AppUser();
+        user.setEmail(email);
+        user.setFirstName(firstName);
+        user.setRole("USER");
+        entityManager.persistAndFlush(user);
+        entityManager.clear();
+        return user;
+    }
+}
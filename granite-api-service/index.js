@@ -49,7 +49,7 @@ Label them clearly as "Variation A" and "Variation B". Make sure each version is
 // Add OpenRouter API key from environment
 const OPENROUTER_API_KEY = process.env.OPENROUTER_API_KEY;
 const OPENROUTER_MODEL = process.env.OPENROUTER_MODEL || "deepseek/deepseek-r1:free";
-const OPENROUTER_API_URL = "https://openrouter.ai/api/v1/chat/completions";
+const OPENROUTER_API_URL = process.env.OPENROUTER_API_URL || "https://openrouter.ai/api/v1/chat/completions";
 
 // Helper to parse variations from AI response
 function parseVariations(content) {
@@ -124,59 +124,103 @@ async function getEstimatedMetrics(content) {
   }
 }
 
+// Shared OpenRouter call for the campaign prompt; stream=true returns the raw SSE body
+function requestCampaign(prompt, stream) {
+  return axios.post(
+    OPENROUTER_API_URL,
+    {
+      model: OPENROUTER_MODEL,
+      messages: [
+        { role: "user", content: prompt }
+      ],
+      max_tokens: 2000,
+      temperature: 0.7,
+      top_p: 1,
+      stream
+    },
+    {
+      headers: {
+        Authorization: `Bearer ${OPENROUTER_API_KEY}`,
+        "Content-Type": "application/json"
+      },
+      responseType: stream ? "stream" : "json"
+    }
+  );
+}
+
+// Stage timings for one request. The Spring backend reads them back from the
+// Server-Timing header and adds them to its own per-generation breakdown.
+function stageTimer() {
+  const stages = [];
+  const record = (name, ms) => stages.push({ name, ms });
+  return {
+    record,
+    async time(name, work) {
+      const start = process.hrtime.bigint();
+      try {
+        return await work();
+      } finally {
+        record(name, Number(process.hrtime.bigint() - start) / 1e6);
+      }
+    },
+    header: () => stages.map(({ name, ms }) => `${name};dur=${ms.toFixed(1)}`).join(", "),
+    stages: () => Object.fromEntries(stages.map(({ name, ms }) => [name, Number(ms.toFixed(1))]))
+  };
+}
+
+// Trace id from a W3C traceparent header ("00-<trace id>-<parent span id>-<flags>"), if any
+function traceIdOf(req) {
+  const match = /^00-([0-9a-f]{32})-[0-9a-f]{16}-[0-9a-f]{2}$/.exec(req.get("traceparent") || "");
+  return match ? match[1] : null;
+}
+
+// Turns the full model output into the response the Spring backend persists
+async function buildCampaignResult(content, timer = stageTimer()) {
+  // Parse the response to extract both variations
+  const { contentA, contentB } = await timer.time("parse", () => parseVariations(content));
+
+  // Get estimated metrics for each version using OpenRouter
+  const [metricsA, metricsB] = await timer.time("metrics", () => Promise.all([
+    getEstimatedMetrics(contentA),
+    getEstimatedMetrics(contentB)
+  ]));
+
+  return {
+    versionA: {
+      title: "Variation A",
+      content: contentA,
+      metrics: metricsA || { openRate: null, clickThroughRate: null, conversionRate: null },
+    },
+    versionB: {
+      title: "Variation B",
+      content: contentB,
+      metrics: metricsB || { openRate: null, clickThroughRate: null, conversionRate: null },
+    },
+    modelUsed: OPENROUTER_MODEL,
+    rawResponse: content // Include raw response for debugging
+  };
+}
+
 // Update /api/dashboard/post to use OpenRouter
 app.post("/api/dashboard/post", async (req, res) => {
   const request = req.body;
+  const traceId = traceIdOf(req);
+  const timer = stageTimer();
 
   try {
-    const prompt = buildPrompt(request);
+    const prompt = await timer.time("prompt", () => buildPrompt(request));
 
     // Use OpenRouter API for content generation
-    const response = await axios.post(
-      OPENROUTER_API_URL,
-      {
-        model: OPENROUTER_MODEL,
-        messages: [
-          { role: "user", content: prompt }
-        ],
-        max_tokens: 2000,
-        temperature: 0.7,
-        top_p: 1
-      },
-      {
-        headers: {
-          Authorization: `Bearer ${OPENROUTER_API_KEY}`,
-          "Content-Type": "application/json"
-        }
-      }
-    );
+    const response = await timer.time("openrouter", () => requestCampaign(prompt, false));
 
     const content = response.data.choices?.[0]?.message?.content || "No content generated";
 
-    // Parse the response to extract both variations
-    const { contentA, contentB } = parseVariations(content);
-
-    // Get estimated metrics for each version using OpenRouter
-    const [metricsA, metricsB] = await Promise.all([
-      getEstimatedMetrics(contentA),
-      getEstimatedMetrics(contentB)
-    ]);
-
-    res.json({
-      versionA: {
-        title: "Variation A",
-        content: contentA,
-        metrics: metricsA || { openRate: null, clickThroughRate: null, conversionRate: null },
-      },
-      versionB: {
-        title: "Variation B",
-        content: contentB,
-        metrics: metricsB || { openRate: null, clickThroughRate: null, conversionRate: null },
-      },
-      modelUsed: OPENROUTER_MODEL,
-      rawResponse: content // Include raw response for debugging
-    });
+    const result = await buildCampaignResult(content, timer);
+    console.log(JSON.stringify({ event: "generation", traceId, stages: timer.stages() }));
+    res.set("Server-Timing", timer.header());
+    res.json(result);
   } catch (err) {
+    console.error(JSON.stringify({ event: "generation_failed", traceId, stages: timer.stages(), error: err.message }));
     console.error("Full error:", err.response?.data || err.message);
     res.status(500).json({ 
       error: "Error generating content", 
@@ -186,6 +230,84 @@ app.post("/api/dashboard/post", async (req, res) => {
   }
 });
 
+// Longest "Variation B:" marker we expect to see; text this close to the end is held
+// back so a marker split across two deltas is still attributed to the right variation
+const MARKER_HOLDBACK = 24;
+const VARIATION_B_MARKER = /variation\s+b\s*:/i;
+
+// Same generation as /api/dashboard/post, streamed as server-sent events:
+//   event: delta   data: {"variation":"A"|"B","text":"..."}   (as tokens arrive)
+//   event: result  data: <same JSON as /api/dashboard/post>   (once, at the end)
+//   event: error   data: {"error":"..."}
+app.post("/api/dashboard/post/stream", async (req, res) => {
+  res.set({
+    "Content-Type": "text/event-stream",
+    "Cache-Control": "no-cache",
+    Connection: "keep-alive"
+  });
+  res.flushHeaders();
+
+  const send = (event, data) => res.write(`event: ${event}\ndata: ${JSON.stringify(data)}\n\n`);
+
+  let upstream;
+  req.on("close", () => upstream?.data?.destroy());
+
+  // headers are already sent, so stage timings only go to the log here
+  const traceId = traceIdOf(req);
+  const timer = stageTimer();
+
+  try {
+    const prompt = await timer.time("prompt", () => buildPrompt(req.body));
+    upstream = await timer.time("openrouter_first_byte", () => requestCampaign(prompt, true));
+    const streamStart = process.hrtime.bigint();
+
+    let content = "";
+    let sent = 0;
+    let bStart = -1;
+    let pending = "";
+
+    const emitUpTo = (end) => {
+      if (bStart < 0) {
+        const match = content.match(VARIATION_B_MARKER);
+        if (match) bStart = match.index;
+      }
+      while (sent < end) {
+        const variation = bStart >= 0 && sent >= bStart ? "B" : "A";
+        const stop = variation === "A" && bStart >= 0 ? Math.min(end, bStart) : end;
+        send("delta", { variation, text: content.slice(sent, stop) });
+        sent = stop;
+      }
+    };
+
+    for await (const chunk of upstream.data) {
+      pending += chunk.toString("utf8");
+      const lines = pending.split("\n");
+      pending = lines.pop();
+      for (const line of lines) {
+        if (!line.startsWith("data:")) continue;
+        const payload = line.slice(5).trim();
+        if (payload === "[DONE]") continue;
+        try {
+          content += JSON.parse(payload).choices?.[0]?.delta?.content || "";
+        } catch {
+          // OpenRouter sends keep-alive comments and partial frames; skip anything that is not a delta
+        }
+      }
+      emitUpTo(Math.max(sent, content.length - MARKER_HOLDBACK));
+    }
+    emitUpTo(content.length);
+    timer.record("openrouter_stream", Number(process.hrtime.bigint() - streamStart) / 1e6);
+
+    send("result", await buildCampaignResult(content || "No content generated", timer));
+    console.log(JSON.stringify({ event: "generation", traceId, stream: true, stages: timer.stages() }));
+  } catch (err) {
+    console.error(JSON.stringify({ event: "generation_failed", traceId, stream: true, stages: timer.stages(), error: err.message }));
+    console.error("Streaming error:", err.response?.status || err.message);
+    send("error", { error: "Error generating content", details: err.message });
+  }
+  res.end();
+});
+
 // AYRSHARE POST ENDPOINT
 app.post("/api/ayrshare/post", async (req, res) => {
   const { text, platforms, mediaUrls } = req.body;